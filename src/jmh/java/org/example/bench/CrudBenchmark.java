@@ -0,0 +1,152 @@
+package org.example.bench;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.example.data.core.cache.EntityCaches;
+import org.example.data.migration.MigrationRunner;
+import org.example.data.repo.BookRepository;
+import org.example.data.repo.MusicRepository;
+import org.example.data.repo.VisitorRepository;
+import org.example.data.source.PoolConfig;
+import org.example.data.source.PooledDataSource;
+import org.example.model.Book;
+import org.example.model.Music;
+import org.example.model.Visitor;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CrudBenchmark {
+    private static final String MUSIC_SCHEMA = "create table music (id int primary key, name text)";
+
+    private static final int BATCH = 100;
+
+    @Param({"100", "10000"})
+    private int rows;
+
+    private EmbeddedPostgres postgres;
+    private PooledDataSource dataSource;
+
+    private MusicRepository musicRepository;
+    private BookRepository bookRepository;
+    private VisitorRepository visitorRepository;
+
+    private List<UUID> bookIds;
+    private final AtomicInteger nextMusicId = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        EntityCaches.register(Book.class, null);
+        EntityCaches.register(Visitor.class, null);
+
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = new PooledDataSource(
+                postgres.getDatabase("postgres", "postgres", Map.of("reWriteBatchedInserts", "true")),
+                PoolConfig.builder().minSize(1).maxSize(4).build());
+
+        new MigrationRunner(dataSource).migrate();
+
+        try (Connection connection = dataSource.getConnection(); Statement stmt = connection.createStatement()) {
+            stmt.execute(MUSIC_SCHEMA);
+        }
+
+        musicRepository = new MusicRepository(dataSource);
+        bookRepository = new BookRepository(dataSource);
+        visitorRepository = new VisitorRepository(dataSource);
+
+        List<Music> music = new ArrayList<>();
+        List<Book> books = new ArrayList<>();
+        List<Visitor> visitors = new ArrayList<>();
+
+        for (int i = 0; i < rows; i++) {
+            music.add(new Music(i, "Track " + i));
+            books.add(newBook(i));
+        }
+
+        for (int i = 0; i < rows; i++) {
+            visitors.add(Visitor.builder()
+                    .id(UUID.randomUUID())
+                    .name("Name " + i)
+                    .surname("Surname " + i)
+                    .isSubscribed(i % 2 == 0)
+                    .favoriteBooks(List.of(books.get(i), books.get((i + 1) % rows)))
+                    .build());
+        }
+
+        musicRepository.saveAll(music);
+        bookRepository.saveAll(books);
+        visitorRepository.saveAll(visitors);
+
+        bookIds = books.stream().map(Book::getId).toList();
+        nextMusicId.set(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        dataSource.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public Optional<Book> findBookById() throws SQLException {
+        return bookRepository.findById(bookIds.get(ThreadLocalRandom.current().nextInt(bookIds.size())));
+    }
+
+    @Benchmark
+    public List<Music> findAllMusic() throws SQLException {
+        return musicRepository.findAll();
+    }
+
+    @Benchmark
+    public List<Book> findAllBooks() throws SQLException {
+        return bookRepository.findAll();
+    }
+
+    @Benchmark
+    public List<Visitor> findAllVisitors() throws SQLException {
+        return visitorRepository.findAll();
+    }
+
+    @Benchmark
+    public int insertMusic() throws SQLException {
+        return musicRepository.insert(new Music(nextMusicId.getAndIncrement(), "Inserted"));
+    }
+
+    @Benchmark
+    public int saveBook() throws SQLException {
+        return bookRepository.save(newBook(ThreadLocalRandom.current().nextInt()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int saveAllBooks() throws SQLException {
+        List<Book> books = new ArrayList<>(BATCH);
+
+        for (int i = 0; i < BATCH; i++) {
+            books.add(newBook(i));
+        }
+
+        return bookRepository.saveAll(books);
+    }
+
+    private static Book newBook(int i) {
+        return new Book(UUID.randomUUID(), "Title " + i, "Author " + (i % 100), 1900 + Math.floorMod(i, 120),
+                "isbn-" + i, "Publisher " + Math.floorMod(i, 10));
+    }
+}
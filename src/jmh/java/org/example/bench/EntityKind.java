@@ -0,0 +1,44 @@
+package org.example.bench;
+
+import org.example.model.Book;
+import org.example.model.Music;
+import org.example.model.Visitor;
+
+import java.util.UUID;
+
+public enum EntityKind {
+    MUSIC(Music.class, new String[]{"id", "name"}),
+    BOOK(Book.class, new String[]{"id", "title", "author", "publication_year", "isbn", "publisher"}),
+    VISITOR(Visitor.class, new String[]{"id", "name", "surname", "is_subscribed"});
+
+    private final Class<?> modelClass;
+    private final String[] columns;
+
+    EntityKind(Class<?> modelClass, String[] columns) {
+        this.modelClass = modelClass;
+        this.columns = columns;
+    }
+
+    public Class<?> getModelClass() {
+        return modelClass;
+    }
+
+    public StubResultSet resultSet(int rows) {
+        Object[][] values = new Object[rows][];
+
+        for (int i = 0; i < rows; i++) {
+            values[i] = row(i);
+        }
+
+        return new StubResultSet(columns, values);
+    }
+
+    private Object[] row(int i) {
+        return switch (this) {
+            case MUSIC -> new Object[]{i, "Track " + i};
+            case BOOK -> new Object[]{UUID.randomUUID(), "Title " + i, "Author " + (i % 100), 1900 + i % 120,
+                    "isbn-" + i, "Publisher " + (i % 10)};
+            case VISITOR -> new Object[]{UUID.randomUUID(), "Name " + i, "Surname " + i, i % 2 == 0};
+        };
+    }
+}
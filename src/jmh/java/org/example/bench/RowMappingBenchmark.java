@@ -0,0 +1,53 @@
+package org.example.bench;
+
+import org.example.data.core.EntityMapper;
+import org.example.data.core.EntityMetadata;
+import org.example.data.core.EntityRowMapper;
+import org.example.data.core.RowMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMappingBenchmark {
+    @Param({"MUSIC", "BOOK", "VISITOR"})
+    private EntityKind entity;
+
+    @Param({"1", "100", "10000"})
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean generated;
+
+    private StubResultSet resultSet;
+    private EntityMetadata<Object> metadata;
+    private EntityMapper<Object> entityMapper;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        resultSet = entity.resultSet(rows);
+        metadata = (EntityMetadata<Object>) EntityMetadata.of(entity.getModelClass());
+        entityMapper = generated ? metadata.getMapper() : metadata.getReflectiveMapper();
+
+        if (generated && !metadata.hasGeneratedMapper())
+            throw new IllegalStateException("No generated mapper for " + entity.getModelClass().getName());
+    }
+
+    @Benchmark
+    public void mapResultSet(Blackhole blackhole) throws SQLException {
+        resultSet.reset();
+        RowMapper<?> mapper = EntityRowMapper.bind(metadata, entityMapper, resultSet.getMetaData());
+
+        while (resultSet.next()) {
+            blackhole.consume(mapper.mapRow(resultSet));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.bench;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+public class StubResultSetMetaData implements ResultSetMetaData {
+    private final String[] labels;
+
+    public StubResultSetMetaData(String[] labels) {
+        this.labels = labels;
+    }
+
+    int indexOf(String label) throws SQLException {
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equalsIgnoreCase(label))
+                return i + 1;
+        }
+
+        throw new SQLException("Unknown column " + label);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return labels.length;
+    }
+
+    @Override
+    public String getColumnLabel(int column) {
+        return labels[column - 1];
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return labels[column - 1];
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this))
+            return iface.cast(this);
+
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    @Override
+    public String getCatalogName(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getCatalogName");
+    }
+
+    @Override
+    public String getColumnClassName(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnClassName");
+    }
+
+    @Override
+    public int getColumnDisplaySize(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnDisplaySize");
+    }
+
+    @Override
+    public int getColumnType(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnType");
+    }
+
+    @Override
+    public String getColumnTypeName(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnTypeName");
+    }
+
+    @Override
+    public int getPrecision(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getPrecision");
+    }
+
+    @Override
+    public int getScale(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getScale");
+    }
+
+    @Override
+    public String getSchemaName(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getSchemaName");
+    }
+
+    @Override
+    public String getTableName(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getTableName");
+    }
+
+    @Override
+    public boolean isAutoIncrement(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isAutoIncrement");
+    }
+
+    @Override
+    public boolean isCaseSensitive(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isCaseSensitive");
+    }
+
+    @Override
+    public boolean isCurrency(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isCurrency");
+    }
+
+    @Override
+    public boolean isDefinitelyWritable(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isDefinitelyWritable");
+    }
+
+    @Override
+    public int isNullable(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isNullable");
+    }
+
+    @Override
+    public boolean isReadOnly(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isReadOnly");
+    }
+
+    @Override
+    public boolean isSearchable(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isSearchable");
+    }
+
+    @Override
+    public boolean isSigned(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isSigned");
+    }
+
+    @Override
+    public boolean isWritable(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isWritable");
+    }
+}
@@ -1,38 +1,47 @@
 package org.example;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import org.example.data.repo.BookRepository;
 import org.example.data.repo.MusicRepository;
 import org.example.config.Configurer;
 import org.example.config.ConfigurerImpl;
+import org.example.data.core.metrics.QueryListeners;
+import org.example.data.core.metrics.QueryMetrics;
+import org.example.data.core.metrics.SlowQueryLog;
+import org.example.data.core.tx.TransactionTemplate;
+import org.example.data.migration.MigrationResult;
 import org.example.data.repo.VisitorRepository;
 import org.example.data.source.SimpleDataSource;
-import org.example.model.Book;
+import org.example.importer.ImportResult;
+import org.example.importer.VisitorImportPipeline;
 import org.example.model.Music;
-import org.example.model.Visitor;
 
+import javax.management.JMException;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
 import java.sql.SQLException;
-import java.util.List;
-import java.util.Set;
-import java.util.UUID;
-import java.util.stream.Collectors;
 
 public class Main {
     public static void main(String[] args) {
         try {
             Configurer configurer = ConfigurerImpl.getInstance();
             SimpleDataSource dataSource = SimpleDataSource.getInstance(configurer);
-            dataSource.dropSchema();
-            dataSource.initSchema();
+            MigrationResult migration = dataSource.migrate();
 
-            MusicRepository musicRepository = new MusicRepository(dataSource.getConnection());
-            VisitorRepository visitorRepository = new VisitorRepository(dataSource.getConnection());
-            BookRepository bookRepository = new BookRepository(dataSource.getConnection());
+            if (!migration.isUpToDate())
+                System.out.println("Migrated schema to version " + migration.currentVersion());
+
+            QueryMetrics queryMetrics = new QueryMetrics();
+
+            if (configurer.isQueryMetricsEnabled()) {
+                QueryListeners.add(queryMetrics);
+                QueryListeners.add(new SlowQueryLog(configurer.getSlowQueryThresholdMillis()));
+                queryMetrics.registerMBean();
+            }
+
+            MusicRepository musicRepository = new MusicRepository(dataSource);
+            VisitorRepository visitorRepository = new VisitorRepository(dataSource);
+            BookRepository bookRepository = new BookRepository(dataSource);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(dataSource);
 
             System.out.println("\n--- Task 1 ---");
             musicRepository.findAll().forEach(System.out::println);
@@ -41,46 +50,37 @@ public class Main {
             musicRepository.findAllByTitleMatchingRegex("[mt]").forEach(System.out::println);
 
             System.out.println("\n--- Task 3 ---");
-            int insertedCount = musicRepository.save(new Music(777, "Never gonna give you up"));
+            int insertedCount = transactionTemplate.inTransaction(status ->
+                    musicRepository.save(new Music(777, "Never gonna give you up")));
             System.out.println((insertedCount == 1) ? "Music added" : "Music not added");
 
             System.out.println("\n--- Task 4 ---");
-            Gson gson = new Gson();
-            TypeToken<List<Visitor>> visitorTypeToken = new TypeToken<>() {
-            };
+            VisitorImportPipeline importPipeline =
+                    new VisitorImportPipeline(bookRepository, visitorRepository, transactionTemplate);
+            importPipeline.setBatchSize(configurer.getTransactionChunkSize());
 
-            InputStreamReader inputStreamReader =
-                    new InputStreamReader(Main.class.getResourceAsStream("books.json"), StandardCharsets.UTF_8);
-            List<Visitor> visitors = gson.fromJson(inputStreamReader, visitorTypeToken);
-            System.out.println("Visitors list:");
-            visitors.forEach(System.out::println);
-
-            visitors.forEach(visitor -> {
-                try {
-                    visitor.setId(UUID.randomUUID());
-                    visitorRepository.save(visitor);
-                } catch (SQLException e) {
-                    throw new RuntimeException(e);
+            if (visitorRepository.count() > 0) {
+                System.out.println("Visitors already imported");
+            } else {
+                try (InputStream json = Main.class.getResourceAsStream("books.json")) {
+                    ImportResult imported = importPipeline.run(json);
+                    System.out.println("Imported " + imported.visitors() + " visitors and " + imported.books()
+                            + " books (" + imported.duplicateBooks() + " duplicate books skipped)");
                 }
-            });
+            }
 
-            Set<Book> books = visitors.stream()
-                    .flatMap(visitor -> visitor.getFavoriteBooks().stream())
-                    .collect(Collectors.toSet());
+            System.out.println("Visitors with favorite books:");
+            visitorRepository.findAll().forEach(System.out::println);
 
-            books.forEach(book -> {
-                book.setId(UUID.randomUUID());
-                try {
-                    bookRepository.save(book);
-                } catch (SQLException e) {
-                    throw new RuntimeException(e);
-                }
-            });
+            if (configurer.isQueryMetricsEnabled()) {
+                System.out.println("\n--- Query metrics ---");
+                queryMetrics.getOperations().forEach(System.out::println);
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         } catch (SQLException e) {
             throw new RuntimeException(e);
-        } catch (URISyntaxException e) {
+        } catch (JMException e) {
             throw new RuntimeException(e);
         }
     }
@@ -1,5 +1,7 @@
 package org.example.config;
 
+import java.util.List;
+
 public interface Configurer {
     String getUser();
     String getPassword();
@@ -7,4 +9,18 @@ public interface Configurer {
     String getSchema();
     String getHost();
     int getPort();
+    List<String> getReplicas();
+    String getReplicaSelection();
+    long getReadYourWritesMillis();
+    int getPoolMinSize();
+    int getPoolMaxSize();
+    long getPoolAcquireTimeoutMillis();
+    long getPoolIdleTimeoutMillis();
+    long getPoolLeakDetectionThresholdMillis();
+    int getStatementCacheSize();
+    int getPrepareThreshold();
+    boolean isBinaryTransfer();
+    int getTransactionChunkSize();
+    boolean isQueryMetricsEnabled();
+    long getSlowQueryThresholdMillis();
 }
@@ -2,15 +2,31 @@ package org.example.config;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 
 public class ConfigurerImpl implements Configurer {
     private final String host;
     private final int port;
+    private final List<String> replicas;
+    private final String replicaSelection;
+    private final long readYourWritesMillis;
     private final String database;
     private final String username;
     private final String password;
     private final String schema;
+    private final int poolMinSize;
+    private final int poolMaxSize;
+    private final long poolAcquireTimeoutMillis;
+    private final long poolIdleTimeoutMillis;
+    private final long poolLeakDetectionThresholdMillis;
+    private final int statementCacheSize;
+    private final int prepareThreshold;
+    private final boolean binaryTransfer;
+    private final int transactionChunkSize;
+    private final boolean queryMetricsEnabled;
+    private final long slowQueryThresholdMillis;
 
     private static Configurer instance;
 
@@ -27,6 +43,28 @@ public class ConfigurerImpl implements Configurer {
         username = props.getProperty("database.user");
         schema = props.getProperty("database.schema");
         password = props.getProperty("database.password");
+
+        replicas = Arrays.stream(props.getProperty("database.replicas", "").split(","))
+                .map(String::trim)
+                .filter(replica -> !replica.isEmpty())
+                .toList();
+        replicaSelection = props.getProperty("database.replicas.selection", "round-robin");
+        readYourWritesMillis = Long.parseLong(props.getProperty("database.replicas.read-your-writes-ms", "0"));
+
+        poolMinSize = Integer.parseInt(props.getProperty("database.pool.min-size", "2"));
+        poolMaxSize = Integer.parseInt(props.getProperty("database.pool.max-size", "10"));
+        poolAcquireTimeoutMillis = Long.parseLong(props.getProperty("database.pool.acquire-timeout-ms", "30000"));
+        poolIdleTimeoutMillis = Long.parseLong(props.getProperty("database.pool.idle-timeout-ms", "600000"));
+        poolLeakDetectionThresholdMillis =
+                Long.parseLong(props.getProperty("database.pool.leak-detection-threshold-ms", "0"));
+
+        statementCacheSize = Integer.parseInt(props.getProperty("database.statement-cache.size", "64"));
+        prepareThreshold = Integer.parseInt(props.getProperty("database.prepare-threshold", "5"));
+        binaryTransfer = Boolean.parseBoolean(props.getProperty("database.binary-transfer", "true"));
+        transactionChunkSize = Integer.parseInt(props.getProperty("database.transaction.chunk-size", "1000"));
+
+        queryMetricsEnabled = Boolean.parseBoolean(props.getProperty("database.metrics.enabled", "false"));
+        slowQueryThresholdMillis = Long.parseLong(props.getProperty("database.metrics.slow-query-threshold-ms", "500"));
     }
 
     @Override
@@ -59,6 +97,76 @@ public class ConfigurerImpl implements Configurer {
         return port;
     }
 
+    @Override
+    public List<String> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public String getReplicaSelection() {
+        return replicaSelection;
+    }
+
+    @Override
+    public long getReadYourWritesMillis() {
+        return readYourWritesMillis;
+    }
+
+    @Override
+    public int getPoolMinSize() {
+        return poolMinSize;
+    }
+
+    @Override
+    public int getPoolMaxSize() {
+        return poolMaxSize;
+    }
+
+    @Override
+    public long getPoolAcquireTimeoutMillis() {
+        return poolAcquireTimeoutMillis;
+    }
+
+    @Override
+    public long getPoolIdleTimeoutMillis() {
+        return poolIdleTimeoutMillis;
+    }
+
+    @Override
+    public long getPoolLeakDetectionThresholdMillis() {
+        return poolLeakDetectionThresholdMillis;
+    }
+
+    @Override
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    @Override
+    public int getPrepareThreshold() {
+        return prepareThreshold;
+    }
+
+    @Override
+    public boolean isBinaryTransfer() {
+        return binaryTransfer;
+    }
+
+    @Override
+    public int getTransactionChunkSize() {
+        return transactionChunkSize;
+    }
+
+    @Override
+    public boolean isQueryMetricsEnabled() {
+        return queryMetricsEnabled;
+    }
+
+    @Override
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryThresholdMillis;
+    }
+
     public static Configurer getInstance() throws IOException {
         if (instance == null)
             instance = new ConfigurerImpl();
@@ -0,0 +1,224 @@
+package org.example.data.core;
+
+import org.example.data.core.page.PageRequest;
+import org.example.data.core.page.Slice;
+import org.example.data.source.PoolConfig;
+import org.example.data.source.PooledDataSource;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncJdbcRepository<T, ID> implements AutoCloseable {
+    private final JdbcRepository<T, ID> repository;
+    private final Executor executor;
+    private final boolean ownsExecutor;
+    private final boolean virtualThreads;
+    private final int maxConcurrency;
+
+    private final Semaphore permits;
+    private final Queue<Task<?>> pending = new ConcurrentLinkedQueue<>();
+
+    public AsyncJdbcRepository(JdbcRepository<T, ID> repository) {
+        this(repository, defaultConcurrency(repository));
+    }
+
+    public AsyncJdbcRepository(JdbcRepository<T, ID> repository, int maxConcurrency) {
+        this(repository, null, maxConcurrency);
+    }
+
+    public AsyncJdbcRepository(JdbcRepository<T, ID> repository, Executor executor, int maxConcurrency) {
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException("Concurrency limit must be positive");
+
+        ExecutorService virtual = executor == null ? newVirtualThreadExecutor() : null;
+
+        this.repository = repository;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency);
+        this.ownsExecutor = executor == null;
+        this.virtualThreads = virtual != null;
+
+        if (executor != null)
+            this.executor = executor;
+        else if (virtual != null)
+            this.executor = virtual;
+        else
+            this.executor = newPlatformExecutor(maxConcurrency);
+    }
+
+    public CompletableFuture<Optional<T>> findById(ID id) {
+        return supply(() -> repository.findById(id));
+    }
+
+    public CompletableFuture<List<T>> findAll() {
+        return supply(repository::findAll);
+    }
+
+    public CompletableFuture<List<T>> findAllById(Collection<ID> ids) {
+        return supply(() -> repository.findAllById(ids));
+    }
+
+    public CompletableFuture<Map<ID, T>> findAllByIdAsMap(Collection<ID> ids) {
+        return supply(() -> repository.findAllByIdAsMap(ids));
+    }
+
+    public CompletableFuture<Slice<T>> findSlice(PageRequest request) {
+        return supply(() -> repository.findSlice(request));
+    }
+
+    public CompletableFuture<Long> count() {
+        return supply(repository::count);
+    }
+
+    public CompletableFuture<Integer> save(T entity) {
+        return supply(() -> repository.save(entity));
+    }
+
+    public CompletableFuture<Integer> insert(T entity) {
+        return supply(() -> repository.insert(entity));
+    }
+
+    public CompletableFuture<Integer> update(T entity) {
+        return supply(() -> repository.update(entity));
+    }
+
+    public CompletableFuture<Integer> saveAll(Collection<T> entities) {
+        return supply(() -> repository.saveAll(entities));
+    }
+
+    public CompletableFuture<Integer> insertAll(Collection<T> entities) {
+        return supply(() -> repository.insertAll(entities));
+    }
+
+    public CompletableFuture<Integer> upsertAll(Collection<T> entities) {
+        return supply(() -> repository.upsertAll(entities));
+    }
+
+    public CompletableFuture<Integer> delete(T entity) {
+        return supply(() -> repository.delete(entity));
+    }
+
+    public CompletableFuture<Integer> deleteById(ID id) {
+        return supply(() -> repository.deleteById(id));
+    }
+
+    public <R> CompletableFuture<R> supply(SqlCallable<R> callable) {
+        Task<R> task = new Task<>(callable, repository);
+
+        pending.add(task);
+        dispatch();
+
+        return task.future;
+    }
+
+    private void dispatch() {
+        while (!pending.isEmpty() && permits.tryAcquire()) {
+            Task<?> task = pending.poll();
+
+            if (task == null) {
+                permits.release();
+                continue;
+            }
+
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                        dispatch();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                task.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    public JdbcRepository<T, ID> getRepository() {
+        return repository;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getInFlight() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return pending.size();
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor && executor instanceof ExecutorService service)
+            service.shutdown();
+    }
+
+    private static int defaultConcurrency(JdbcRepository<?, ?> repository) {
+        try {
+            if (repository.dataSource.isWrapperFor(PooledDataSource.class))
+                return repository.dataSource.unwrap(PooledDataSource.class).getConfig().getMaxSize();
+        } catch (SQLException ignored) {
+        }
+
+        return PoolConfig.builder().build().getMaxSize();
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "jdbc-async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static final class Task<R> {
+        private final SqlCallable<R> callable;
+        private final Runnable runner;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+
+        private Task(SqlCallable<R> callable, JdbcRepository<?, ?> repository) {
+            this.callable = callable;
+            this.runner = repository.propagate(this::complete);
+        }
+
+        private void run() {
+            runner.run();
+        }
+
+        private void complete() {
+            if (future.isDone())
+                return;
+
+            try {
+                future.complete(callable.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.data.core;
+
+import java.util.List;
+
+public record BatchUpdateResult<T>(List<T> updated, List<T> conflicts) {
+    public boolean hasConflicts() {
+        return !conflicts.isEmpty();
+    }
+
+    public int updatedCount() {
+        return updated.size();
+    }
+}
@@ -0,0 +1,293 @@
+package org.example.data.core;
+
+import org.example.data.core.tx.Transactions;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BulkLoader<T> {
+    public enum Format {
+        CSV,
+        BINARY
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] BINARY_SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final int JSONB_VERSION = 1;
+    private static final LocalDate PG_EPOCH_DATE = LocalDate.of(2000, 1, 1);
+    private static final LocalDateTime PG_EPOCH = PG_EPOCH_DATE.atStartOfDay();
+    private static final Instant PG_EPOCH_INSTANT = PG_EPOCH.toInstant(ZoneOffset.UTC);
+
+    private final DataSource dataSource;
+    private final EntityMetadata<T> metadata;
+    private final Format format;
+    private final String copySql;
+    private final String columnTypesSql;
+
+    private volatile List<BinaryEncoder> encoders;
+
+    public BulkLoader(DataSource dataSource, EntityMetadata<T> metadata, Format format) {
+        this.dataSource = dataSource;
+        this.metadata = metadata;
+        this.format = format;
+
+        String columnNames = metadata.getColumns().stream()
+                .map(ColumnMetadata::getColumnName)
+                .collect(Collectors.joining(", "));
+
+        this.copySql = "COPY " + metadata.getTableName() + " (" + columnNames + ") FROM STDIN WITH (FORMAT "
+                + (format == Format.CSV ? "csv" : "binary") + ")";
+        this.columnTypesSql = "SELECT " + columnNames + " FROM " + metadata.getTableName() + " WHERE false";
+    }
+
+    public Result load(Stream<T> entities) throws SQLException {
+        try (entities) {
+            return load(entities.iterator());
+        }
+    }
+
+    public Result load(Iterator<T> entities) throws SQLException {
+        try (Connection connection = Transactions.getConnection(dataSource)) {
+            return load(connection, entities);
+        }
+    }
+
+    private Result load(Connection connection, Iterator<T> entities) throws SQLException {
+        long started = System.nanoTime();
+        List<BinaryEncoder> binaryEncoders = format == Format.BINARY ? binaryEncoders(connection) : null;
+        PGCopyOutputStream copyStream = new PGCopyOutputStream(connection.unwrap(PGConnection.class), copySql);
+
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(copyStream, BUFFER_SIZE));
+
+            if (format == Format.BINARY)
+                writeBinaryHeader(out);
+
+            while (entities.hasNext()) {
+                T entity = entities.next();
+
+                if (format == Format.BINARY)
+                    writeBinaryRow(out, entity, binaryEncoders);
+                else
+                    writeCsvRow(out, entity);
+            }
+
+            if (format == Format.BINARY)
+                out.writeShort(-1);
+
+            out.flush();
+            long rows = copyStream.endCopy();
+
+            return new Result(rows, Duration.ofNanos(System.nanoTime() - started));
+        } catch (IOException e) {
+            throw new SQLException("Error executing COPY into " + metadata.getTableName(), e);
+        } finally {
+            if (copyStream.isActive())
+                copyStream.cancelCopy();
+        }
+    }
+
+    private void writeCsvRow(OutputStream out, T entity) throws IOException, SQLException {
+        List<ColumnMetadata> columns = metadata.getColumns();
+        StringBuilder row = new StringBuilder();
+
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0)
+                row.append(',');
+
+            ColumnMetadata column = columns.get(i);
+            Object value = column.get(entity);
+
+            if (value == null)
+                continue;
+
+            row.append('"').append(column.toText(value).replace("\"", "\"\"")).append('"');
+        }
+
+        row.append('\n');
+        out.write(row.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBinaryHeader(DataOutputStream out) throws IOException {
+        out.write(BINARY_SIGNATURE);
+        out.writeInt(0);
+        out.writeInt(0);
+    }
+
+    private void writeBinaryRow(DataOutputStream out, T entity, List<BinaryEncoder> encoders)
+            throws IOException, SQLException {
+        List<ColumnMetadata> columns = metadata.getColumns();
+        out.writeShort(columns.size());
+
+        for (int i = 0; i < columns.size(); i++) {
+            Object value = columns.get(i).get(entity);
+
+            if (value == null)
+                out.writeInt(-1);
+            else
+                encoders.get(i).write(out, value);
+        }
+    }
+
+    private List<BinaryEncoder> binaryEncoders(Connection connection) throws SQLException {
+        List<BinaryEncoder> resolved = encoders;
+
+        if (resolved != null)
+            return resolved;
+
+        List<ColumnMetadata> columns = metadata.getColumns();
+        List<BinaryEncoder> encoders = new ArrayList<>();
+
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(columnTypesSql)) {
+            ResultSetMetaData rsMetaData = rs.getMetaData();
+
+            for (int i = 0; i < columns.size(); i++) {
+                encoders.add(binaryEncoder(columns.get(i), rsMetaData.getColumnTypeName(i + 1)));
+            }
+        }
+
+        resolved = List.copyOf(encoders);
+        this.encoders = resolved;
+
+        return resolved;
+    }
+
+    private BinaryEncoder binaryEncoder(ColumnMetadata column, String typeName) throws SQLException {
+        return switch (typeName) {
+            case "int2" -> (out, value) -> {
+                out.writeInt(2);
+                out.writeShort((short) integral(column, typeName, value, Short.MIN_VALUE, Short.MAX_VALUE));
+            };
+            case "int4" -> (out, value) -> {
+                out.writeInt(4);
+                out.writeInt((int) integral(column, typeName, value, Integer.MIN_VALUE, Integer.MAX_VALUE));
+            };
+            case "int8" -> (out, value) -> {
+                out.writeInt(8);
+                out.writeLong(integral(column, typeName, value, Long.MIN_VALUE, Long.MAX_VALUE));
+            };
+            case "float4" -> (out, value) -> {
+                out.writeInt(4);
+                out.writeFloat(cast(column, typeName, value, Number.class).floatValue());
+            };
+            case "float8" -> (out, value) -> {
+                out.writeInt(8);
+                out.writeDouble(cast(column, typeName, value, Number.class).doubleValue());
+            };
+            case "bool" -> (out, value) -> {
+                out.writeInt(1);
+                out.writeByte(cast(column, typeName, value, Boolean.class) ? 1 : 0);
+            };
+            case "uuid" -> (out, value) -> {
+                UUID uuid = cast(column, typeName, value, UUID.class);
+                out.writeInt(16);
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+            };
+            case "bytea" -> (out, value) -> {
+                byte[] bytes = cast(column, typeName, value, byte[].class);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            };
+            case "text", "varchar", "bpchar", "name", "json" -> (out, value) -> {
+                byte[] bytes = column.toText(value).getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            };
+            case "jsonb" -> (out, value) -> {
+                byte[] bytes = column.toText(value).getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length + 1);
+                out.writeByte(JSONB_VERSION);
+                out.write(bytes);
+            };
+            case "date" -> (out, value) -> {
+                out.writeInt(4);
+                out.writeInt((int) ChronoUnit.DAYS.between(PG_EPOCH_DATE,
+                        cast(column, typeName, value, LocalDate.class)));
+            };
+            case "timestamp" -> (out, value) -> {
+                out.writeInt(8);
+                out.writeLong(ChronoUnit.MICROS.between(PG_EPOCH, cast(column, typeName, value, LocalDateTime.class)));
+            };
+            case "timestamptz" -> (out, value) -> {
+                Instant instant = value instanceof OffsetDateTime dateTime
+                        ? dateTime.toInstant()
+                        : cast(column, typeName, value, Instant.class);
+
+                out.writeInt(8);
+                out.writeLong(ChronoUnit.MICROS.between(PG_EPOCH_INSTANT, instant));
+            };
+            default -> throw new SQLException("Binary COPY does not support column " + column.getColumnName()
+                    + " of type " + typeName + " in " + metadata.getTableName() + ", use CSV format instead");
+        };
+    }
+
+    private static long integral(ColumnMetadata column, String typeName, Object value, long min, long max)
+            throws SQLException {
+        if (!(value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte))
+            throw mismatch(column, typeName, value);
+
+        long number = ((Number) value).longValue();
+
+        if (number < min || number > max)
+            throw new SQLException("Value " + number + " does not fit " + typeName + " column "
+                    + column.getColumnName());
+
+        return number;
+    }
+
+    private static <V> V cast(ColumnMetadata column, String typeName, Object value, Class<V> type)
+            throws SQLException {
+        if (!type.isInstance(value))
+            throw mismatch(column, typeName, value);
+
+        return type.cast(value);
+    }
+
+    private static SQLException mismatch(ColumnMetadata column, String typeName, Object value) {
+        return new SQLException("Binary COPY cannot write " + value.getClass().getName() + " into " + typeName
+                + " column " + column.getColumnName());
+    }
+
+    @FunctionalInterface
+    private interface BinaryEncoder {
+        void write(DataOutputStream out, Object value) throws IOException, SQLException;
+    }
+
+    public record Result(long rows, Duration elapsed) {
+        public double rowsPerSecond() {
+            long nanos = elapsed.toNanos();
+            return nanos == 0 ? rows : rows * 1_000_000_000d / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d rows in %d ms (%.0f rows/sec)", rows, elapsed.toMillis(), rowsPerSecond());
+        }
+    }
+}
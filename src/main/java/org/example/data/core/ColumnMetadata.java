@@ -0,0 +1,129 @@
+package org.example.data.core;
+
+import lombok.Getter;
+import org.example.data.core.annotation.Column;
+import org.example.data.core.annotation.Version;
+import org.example.data.core.convert.TypeConverter;
+import org.example.data.core.convert.TypeConverters;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@Getter
+public final class ColumnMetadata {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final String fieldName;
+    private final String columnName;
+    private final Class<?> type;
+    private final boolean id;
+    private final boolean version;
+    private final TypeConverter<Object> converter;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final MethodHandle getter;
+    @Getter(lombok.AccessLevel.NONE)
+    private final MethodHandle setter;
+    @Getter(lombok.AccessLevel.NONE)
+    private final MethodHandle primitiveSetter;
+    @Getter(lombok.AccessLevel.PACKAGE)
+    private final ColumnReader reader;
+
+    ColumnMetadata(Field field, boolean id, MethodHandles.Lookup lookup) throws IllegalAccessException {
+        Column columnAnnotation = field.getAnnotation(Column.class);
+
+        this.fieldName = field.getName();
+        this.columnName = (columnAnnotation != null && !columnAnnotation.value().isEmpty())
+                ? columnAnnotation.value()
+                : field.getName();
+        this.type = field.getType();
+        this.id = id;
+        this.version = field.isAnnotationPresent(Version.class);
+        this.converter = TypeConverters.forField(field);
+
+        MethodHandle fieldSetter = lookup.unreflectSetter(field);
+        this.getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        this.setter = fieldSetter.asType(SETTER_TYPE);
+        this.primitiveSetter = type.isPrimitive()
+                ? fieldSetter.asType(MethodType.methodType(void.class, Object.class, type))
+                : null;
+        this.reader = ColumnReader.forColumn(this);
+    }
+
+    public boolean isPrimitive() {
+        return type.isPrimitive();
+    }
+
+    public boolean accepts(Object value) {
+        return value == null || MethodType.methodType(type).wrap().returnType().isInstance(value);
+    }
+
+    public void bind(PreparedStatement stmt, int index, Object value) throws SQLException {
+        converter.bind(stmt, index, value);
+    }
+
+    public Object read(ResultSet rs, int index) throws SQLException {
+        return converter.read(rs, index);
+    }
+
+    public String toText(Object value) throws SQLException {
+        return converter.toText(value);
+    }
+
+    public Object get(Object entity) {
+        try {
+            return (Object) getter.invokeExact(entity);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to read field " + fieldName, e);
+        }
+    }
+
+    public void set(Object entity, Object value) {
+        if (value == null && type.isPrimitive())
+            return;
+
+        try {
+            setter.invokeExact(entity, value);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to write field " + fieldName, e);
+        }
+    }
+
+    void setInt(Object entity, int value) {
+        try {
+            primitiveSetter.invokeExact(entity, value);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to write field " + fieldName, e);
+        }
+    }
+
+    void setLong(Object entity, long value) {
+        try {
+            primitiveSetter.invokeExact(entity, value);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to write field " + fieldName, e);
+        }
+    }
+
+    void setBoolean(Object entity, boolean value) {
+        try {
+            primitiveSetter.invokeExact(entity, value);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to write field " + fieldName, e);
+        }
+    }
+
+    void setDouble(Object entity, double value) {
+        try {
+            primitiveSetter.invokeExact(entity, value);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to write field " + fieldName, e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.data.core;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+@FunctionalInterface
+interface ColumnReader {
+    void read(ResultSet rs, int index, Object target) throws SQLException;
+
+    static ColumnReader forColumn(ColumnMetadata column) {
+        Class<?> type = column.getType();
+
+        if (type == int.class)
+            return (rs, index, target) -> column.setInt(target, rs.getInt(index));
+        if (type == long.class)
+            return (rs, index, target) -> column.setLong(target, rs.getLong(index));
+        if (type == boolean.class)
+            return (rs, index, target) -> column.setBoolean(target, rs.getBoolean(index));
+        if (type == double.class)
+            return (rs, index, target) -> column.setDouble(target, rs.getDouble(index));
+        if (type == String.class)
+            return (rs, index, target) -> column.set(target, rs.getString(index));
+        if (type == UUID.class)
+            return (rs, index, target) -> column.set(target, rs.getObject(index, UUID.class));
+        if (type == Integer.class) {
+            return (rs, index, target) -> {
+                int value = rs.getInt(index);
+                column.set(target, rs.wasNull() ? null : value);
+            };
+        }
+        if (type == Long.class) {
+            return (rs, index, target) -> {
+                long value = rs.getLong(index);
+                column.set(target, rs.wasNull() ? null : value);
+            };
+        }
+        if (type == Boolean.class) {
+            return (rs, index, target) -> {
+                boolean value = rs.getBoolean(index);
+                column.set(target, rs.wasNull() ? null : value);
+            };
+        }
+
+        return (rs, index, target) -> column.set(target, column.read(rs, index));
+    }
+}
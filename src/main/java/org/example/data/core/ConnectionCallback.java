@@ -0,0 +1,9 @@
+package org.example.data.core;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface ConnectionCallback<R> {
+    R doInConnection(Connection connection) throws SQLException;
+}
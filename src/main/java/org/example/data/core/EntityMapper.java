@@ -0,0 +1,24 @@
+package org.example.data.core;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+public interface EntityMapper<T> {
+    String SUFFIX = "_Mapper";
+
+    List<String> getColumnNames();
+
+    T newInstance() throws ReflectiveOperationException;
+
+    Object getId(T entity);
+
+    T copy(T entity) throws ReflectiveOperationException;
+
+    T mapRow(ResultSet rs, int[] indexes) throws SQLException;
+
+    void bindInsert(PreparedStatement stmt, T entity) throws SQLException;
+
+    void bindUpdate(PreparedStatement stmt, T entity) throws SQLException;
+}
@@ -0,0 +1,298 @@
+package org.example.data.core;
+
+import lombok.Getter;
+import org.example.data.core.annotation.Id;
+import org.example.data.core.annotation.IgnoreColumn;
+import org.example.data.core.annotation.ManyToMany;
+import org.example.data.core.annotation.Model;
+import org.example.data.core.convert.TypeConverters;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+@Getter
+public final class EntityMetadata<T> {
+    private static final Logger LOGGER = Logger.getLogger(EntityMetadata.class.getName());
+    private static final Map<Class<?>, EntityMetadata<?>> CACHE = new ConcurrentHashMap<>();
+
+    private final Class<T> modelClass;
+    private final String tableName;
+    private final List<ColumnMetadata> columns;
+    private final List<ColumnMetadata> updatableColumns;
+    private final ColumnMetadata idColumn;
+    private final ColumnMetadata versionColumn;
+    private final List<RelationMetadata> relations;
+    private final EntityMapper<T> mapper;
+    private final EntityMapper<T> reflectiveMapper;
+
+    private final String selectAllSql;
+    private final String selectByIdSql;
+    private final String selectByIdsSql;
+    private final String idSqlType;
+    private final String existsByIdSql;
+    private final String countSql;
+    private final String insertSql;
+    private final String upsertSql;
+    private final String updateSql;
+    private final String deleteByIdSql;
+    private final String deleteByIdAndVersionSql;
+    private final String deleteByIdsSql;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final Map<String, ColumnMetadata> columnsByName;
+    @Getter(lombok.AccessLevel.NONE)
+    private final Map<List<ColumnMetadata>, String> partialUpdateSql = new ConcurrentHashMap<>();
+    @Getter(lombok.AccessLevel.NONE)
+    private final Map<Class<?>, Projection<?>> projections = new ConcurrentHashMap<>();
+
+    private EntityMetadata(Class<T> modelClass) {
+        this.modelClass = modelClass;
+
+        Model model = modelClass.getAnnotation(Model.class);
+
+        if (model != null && !model.value().isEmpty())
+            tableName = model.value();
+        else
+            tableName = deriveTableName(modelClass.getSimpleName());
+
+        MethodHandle constructor;
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(modelClass, MethodHandles.lookup());
+            List<ColumnMetadata> columns = new ArrayList<>();
+            List<RelationMetadata> relations = new ArrayList<>();
+
+            for (Field field : modelClass.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isAnnotationPresent(IgnoreColumn.class))
+                    continue;
+
+                if (field.isAnnotationPresent(ManyToMany.class))
+                    relations.add(new RelationMetadata(field, lookup));
+                else
+                    columns.add(new ColumnMetadata(field, field.isAnnotationPresent(Id.class), lookup));
+            }
+
+            this.columns = List.copyOf(columns);
+            this.relations = List.copyOf(relations);
+            constructor = lookup.findConstructor(modelClass, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to build metadata for " + modelClass.getName(), e);
+        }
+
+        this.idColumn = columns.stream()
+                .filter(ColumnMetadata::isId)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No @Id field found in entity"));
+
+        List<ColumnMetadata> versionColumns = columns.stream()
+                .filter(ColumnMetadata::isVersion)
+                .toList();
+
+        if (versionColumns.size() > 1)
+            throw new IllegalStateException("Entity " + modelClass.getSimpleName() + " declares more than one @Version field");
+
+        this.versionColumn = versionColumns.isEmpty() ? null : versionColumns.get(0);
+
+        if (versionColumn != null && (versionColumn.isId() || !isVersionType(versionColumn.getType())))
+            throw new IllegalStateException("@Version field " + versionColumn.getFieldName()
+                    + " must be a non-id int, Integer, long or Long");
+
+        this.updatableColumns = columns.stream()
+                .filter(column -> !column.isId() && !column.isVersion())
+                .toList();
+
+        Map<String, ColumnMetadata> columnsByName = new HashMap<>();
+        columns.forEach(column -> columnsByName.put(column.getColumnName().toLowerCase(Locale.ROOT), column));
+        this.columnsByName = Collections.unmodifiableMap(columnsByName);
+
+        this.reflectiveMapper = new ReflectiveEntityMapper<>(modelClass, columns, idColumn, constructor);
+        this.mapper = loadGeneratedMapper(modelClass, columns).orElse(reflectiveMapper);
+
+        String columnNames = columns.stream()
+                .map(ColumnMetadata::getColumnName)
+                .collect(Collectors.joining(", "));
+
+        String placeholders = columns.stream()
+                .map(c -> "?")
+                .collect(Collectors.joining(", "));
+
+        String idColumnName = idColumn.getColumnName();
+
+        String conflictAction;
+
+        if (versionColumn != null) {
+            String versionColumnName = versionColumn.getColumnName();
+
+            conflictAction = "DO UPDATE SET " + updatableColumns.stream()
+                    .map(c -> c.getColumnName() + " = EXCLUDED." + c.getColumnName() + ", ")
+                    .collect(Collectors.joining())
+                    + versionColumnName + " = " + tableName + "." + versionColumnName + " + 1"
+                    + " WHERE " + tableName + "." + versionColumnName + " = EXCLUDED." + versionColumnName;
+        } else {
+            conflictAction = updatableColumns.isEmpty()
+                    ? "DO NOTHING"
+                    : "DO UPDATE SET " + updatableColumns.stream()
+                            .map(c -> c.getColumnName() + " = EXCLUDED." + c.getColumnName())
+                            .collect(Collectors.joining(", "));
+        }
+
+        this.selectAllSql = "SELECT * FROM " + tableName;
+        this.selectByIdSql = selectAllSql + " WHERE " + idColumnName + " = ?";
+        this.selectByIdsSql = selectAllSql + " WHERE " + idColumnName + " = ANY(?)";
+        this.idSqlType = sqlTypeOf(idColumn.getType());
+        this.existsByIdSql = "SELECT COUNT(*) FROM " + tableName + " WHERE " + idColumnName + " = ?";
+        this.countSql = "SELECT COUNT(*) FROM " + tableName;
+        this.insertSql = "insert into " + tableName + " (" + columnNames + ") values (" + placeholders + ")";
+        this.upsertSql = insertSql + " ON CONFLICT (" + idColumnName + ") " + conflictAction;
+        this.updateSql = buildUpdateSql(updatableColumns);
+        this.deleteByIdSql = "delete from " + tableName + " where " + idColumnName + " = ?";
+        this.deleteByIdAndVersionSql = versionColumn == null
+                ? null
+                : deleteByIdSql + " and " + versionColumn.getColumnName() + " = ?";
+        this.deleteByIdsSql = "delete from " + tableName + " where " + idColumnName + " = ANY(?)";
+    }
+
+    static Collection<EntityMetadata<?>> loaded() {
+        return CACHE.values();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> EntityMetadata<T> of(Class<T> modelClass) {
+        return (EntityMetadata<T>) CACHE.computeIfAbsent(modelClass, EntityMetadata::new);
+    }
+
+    public Optional<ColumnMetadata> findColumn(String columnName) {
+        return Optional.ofNullable(columnsByName.get(columnName.toLowerCase(Locale.ROOT)));
+    }
+
+    public Optional<ColumnMetadata> findProperty(String name) {
+        return columns.stream()
+                .filter(column -> column.getFieldName().equals(name))
+                .findFirst()
+                .or(() -> findColumn(name));
+    }
+
+    public Object getId(T entity) {
+        return mapper.getId(entity);
+    }
+
+    public T copy(T entity) throws ReflectiveOperationException {
+        return mapper.copy(entity);
+    }
+
+    public T newInstance() throws ReflectiveOperationException {
+        return mapper.newInstance();
+    }
+
+    public String getUpdateSql(List<ColumnMetadata> changedColumns) {
+        if (changedColumns.equals(updatableColumns))
+            return updateSql;
+
+        return partialUpdateSql.computeIfAbsent(List.copyOf(changedColumns), this::buildUpdateSql);
+    }
+
+    private String buildUpdateSql(List<ColumnMetadata> columns) {
+        List<String> assignments = new ArrayList<>();
+        columns.forEach(column -> assignments.add(column.getColumnName() + " = ?"));
+
+        String where = " WHERE " + idColumn.getColumnName() + " = ?";
+
+        if (versionColumn != null) {
+            String versionColumnName = versionColumn.getColumnName();
+
+            assignments.add(versionColumnName + " = " + versionColumnName + " + 1");
+            where += " AND " + versionColumnName + " = ?";
+        }
+
+        return "UPDATE " + tableName + " SET " + String.join(", ", assignments) + where;
+    }
+
+    public boolean isVersioned() {
+        return versionColumn != null;
+    }
+
+    public Object getVersion(T entity) {
+        return versionColumn != null ? versionColumn.get(entity) : null;
+    }
+
+    public void incrementVersion(T entity) {
+        if (versionColumn == null)
+            return;
+
+        Object current = versionColumn.get(entity);
+        long next = current == null ? 1 : ((Number) current).longValue() + 1;
+        Class<?> type = versionColumn.getType();
+
+        versionColumn.set(entity, type == int.class || type == Integer.class
+                ? (Object) Math.toIntExact(next)
+                : (Object) next);
+    }
+
+    @SuppressWarnings("unchecked")
+    <P> Projection<P> getProjection(Class<P> type) {
+        return (Projection<P>) projections.computeIfAbsent(type, projectionType -> Projection.of(projectionType, this));
+    }
+
+    public boolean hasGeneratedMapper() {
+        return mapper != reflectiveMapper;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Optional<EntityMapper<T>> loadGeneratedMapper(Class<T> modelClass, List<ColumnMetadata> columns) {
+        String mapperName = modelClass.getName() + EntityMapper.SUFFIX;
+        EntityMapper<T> mapper;
+
+        try {
+            Class<?> mapperClass = Class.forName(mapperName, true, modelClass.getClassLoader());
+            mapper = (EntityMapper<T>) mapperClass.getConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            LOGGER.log(Level.WARNING, "Unable to load " + mapperName + ", falling back to reflection", e);
+            return Optional.empty();
+        }
+
+        List<String> columnNames = columns.stream().map(ColumnMetadata::getColumnName).toList();
+
+        if (!mapper.getColumnNames().equals(columnNames)) {
+            LOGGER.warning(mapperName + " is out of date with " + modelClass.getName()
+                    + ", falling back to reflection");
+            return Optional.empty();
+        }
+
+        return Optional.of(mapper);
+    }
+
+    private static boolean isVersionType(Class<?> type) {
+        return type == int.class || type == Integer.class || type == long.class || type == Long.class;
+    }
+
+    static String sqlTypeOf(Class<?> type) {
+        return TypeConverters.forType(type).getSqlType();
+    }
+
+    private static String deriveTableName(String className) {
+        StringBuilder tableName = new StringBuilder();
+
+        for (char c : className.toCharArray()) {
+            if (Character.isUpperCase(c)) {
+                if (!tableName.isEmpty())
+                    tableName.append('_');
+
+                tableName.append(Character.toLowerCase(c));
+            } else {
+                tableName.append(c);
+            }
+        }
+        return tableName.toString();
+    }
+}
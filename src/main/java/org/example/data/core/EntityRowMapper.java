@@ -0,0 +1,45 @@
+package org.example.data.core;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+public final class EntityRowMapper<T> implements RowMapper<T> {
+    private final EntityMapper<T> mapper;
+    private final int[] indexes;
+
+    private EntityRowMapper(EntityMapper<T> mapper, int[] indexes) {
+        this.mapper = mapper;
+        this.indexes = indexes;
+    }
+
+    public static <T> EntityRowMapper<T> bind(EntityMetadata<T> metadata, ResultSetMetaData rsMetaData)
+            throws SQLException {
+        return bind(metadata, metadata.getMapper(), rsMetaData);
+    }
+
+    public static <T> EntityRowMapper<T> bind(EntityMetadata<T> metadata, EntityMapper<T> mapper,
+                                              ResultSetMetaData rsMetaData) throws SQLException {
+        List<ColumnMetadata> columns = metadata.getColumns();
+        int[] indexes = new int[columns.size()];
+
+        for (int i = 1; i <= rsMetaData.getColumnCount(); i++) {
+            int index = i;
+
+            metadata.findColumn(rsMetaData.getColumnLabel(i)).ifPresent(column -> {
+                int position = columns.indexOf(column);
+
+                if (indexes[position] == 0)
+                    indexes[position] = index;
+            });
+        }
+
+        return new EntityRowMapper<>(mapper, indexes);
+    }
+
+    @Override
+    public T mapRow(ResultSet rs) throws SQLException {
+        return mapper.mapRow(rs, indexes);
+    }
+}
@@ -1,141 +1,409 @@
 package org.example.data.core;
 
-import org.example.data.core.annotation.Column;
-import org.example.data.core.annotation.Id;
-import org.example.data.core.annotation.IgnoreColumn;
-import org.example.data.core.annotation.Model;
+import org.example.data.core.cache.CacheStats;
+import org.example.data.core.cache.EntityCache;
+import org.example.data.core.cache.EntityCaches;
+import org.example.data.core.metrics.QueryListeners;
+import org.example.data.core.page.Page;
+import org.example.data.core.page.PageRequest;
+import org.example.data.core.page.Slice;
+import org.example.data.core.tx.TransactionTemplate;
+import org.example.data.core.tx.Transactions;
+import org.example.data.source.RoutingDataSource;
+import org.example.data.source.StatementCache;
 
-import java.lang.reflect.Field;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.sql.Array;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public abstract class JdbcRepository<T, ID> {
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
     protected final Class<T> modelClass;
+    protected final EntityMetadata<T> metadata;
+    protected final EntityMapper<T> mapper;
     protected final String tableName;
-    protected final Field idColumn;
     protected final String idColumnName;
 
-    protected final Connection connection;
+    protected final DataSource dataSource;
+    protected final EntityCache cache;
+
+    private final RelationManager<T> relations;
+    private final PartitionedScan<T> partitionedScan;
+    private final Map<String, KeysetQuery<T>> keysetQueries = new ConcurrentHashMap<>();
 
-    public JdbcRepository(Connection connection) {
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+    private Executor queryExecutor;
+
+    public JdbcRepository(DataSource dataSource) {
         ParameterizedType type = (ParameterizedType) this.getClass().getGenericSuperclass();
         this.modelClass = (Class<T>) type.getActualTypeArguments()[0];
+        this.metadata = EntityMetadata.of(modelClass);
+        this.mapper = metadata.getMapper();
+        this.tableName = metadata.getTableName();
+        this.idColumnName = metadata.getIdColumn().getColumnName();
 
-        Model model = modelClass.getAnnotation(Model.class);
+        this.dataSource = dataSource;
+        this.cache = EntityCaches.forModel(modelClass);
+        this.relations = new RelationManager<>(metadata);
+        this.partitionedScan = new PartitionedScan<>(this, metadata);
+    }
 
-        if (model != null && !model.value().isEmpty())
-            tableName = model.value();
-        else
-            tableName = deriveTableName(modelClass.getSimpleName());
+    public Optional<T> findById(ID id) throws SQLException {
+        boolean cached = isCacheUsable();
+        long generation = 0;
+
+        if (cached) {
+            Object hit = cache.get(id);
 
-        this.connection = connection;
+            if (hit != null)
+                return Optional.of(withLazyRelations(copyAggregate(modelClass.cast(hit))));
 
-        this.idColumn = Arrays.stream(modelClass.getDeclaredFields())
-                .filter(field -> field.isAnnotationPresent(Id.class))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("No @Id field found in entity"));
+            generation = cache.generation(id);
+        }
+
+        Optional<T> entity;
+
+        try {
+            entity = execute(Operation.FIND_BY_ID, metadata.getSelectByIdSql(), stmt -> {
+                metadata.getIdColumn().bind(stmt, 1, id);
 
-        Column idColumnAnnotation = idColumn.getAnnotation(Column.class);
-        this.idColumnName = (idColumnAnnotation != null && !idColumnAnnotation.value().isEmpty())
-                ? idColumnAnnotation.value()
-                : idColumn.getName();
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next()
+                            ? Optional.of(mapRow(rs))
+                            : Optional.empty();
+                }
+            });
+        } catch (SQLException e) {
+            throw new SQLException("Error executing findById", e);
+        }
+
+        if (entity.isPresent()) {
+            withRelations(entity.get());
+
+            if (cached)
+                cache.putIfCurrent(id, copyAggregate(entity.get()), generation);
+        }
+
+        return entity;
     }
 
-    private String deriveTableName(String className) {
-        StringBuilder tableName = new StringBuilder();
+    public <P> Optional<P> findById(ID id, Class<P> type) throws SQLException {
+        Projection<P> projection = metadata.getProjection(type);
+        String sql = projection.getSelectByIdSql();
 
-        for (char c : className.toCharArray()) {
-            if (Character.isUpperCase(c)) {
-                if (!tableName.isEmpty())
-                    tableName.append('_');
+        try {
+            return execute(new StatementKey(modelClass, Operation.FIND_BY_ID, sql), sql, stmt -> {
+                metadata.getIdColumn().bind(stmt, 1, id);
 
-                tableName.append(Character.toLowerCase(c));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next()
+                            ? Optional.of(rowMapper(rs, projection).mapRow(rs))
+                            : Optional.empty();
+                }
+            });
+        } catch (SQLException e) {
+            throw new SQLException("Error executing findById", e);
+        }
+    }
+
+    public List<T> findAll() throws SQLException {
+        try {
+            List<T> entities = execute(Operation.FIND_ALL, metadata.getSelectAllSql(), stmt -> {
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return mapAll(rs);
+                }
+            });
+
+            loadRelations(entities);
+            return entities;
+        } catch (SQLException e) {
+            throw new SQLException("Error executing findAll", e);
+        }
+    }
+
+    public <P> List<P> findAll(Class<P> type) throws SQLException {
+        Projection<P> projection = metadata.getProjection(type);
+        String sql = projection.getSelectAllSql();
+
+        try {
+            return execute(new StatementKey(modelClass, Operation.FIND_ALL, sql), sql, stmt -> {
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return mapAll(rs, projection);
+                }
+            });
+        } catch (SQLException e) {
+            throw new SQLException("Error executing findAll", e);
+        }
+    }
+
+    public List<T> findAllById(Collection<ID> ids) throws SQLException {
+        return new ArrayList<>(findAllByIdAsMap(ids).values());
+    }
+
+    public Map<ID, T> findAllByIdAsMap(Collection<ID> ids) throws SQLException {
+        Map<Object, T> found = new HashMap<>();
+        List<ID> missing = new ArrayList<>();
+        Map<Object, Long> generations = new HashMap<>();
+        List<T> hits = new ArrayList<>();
+        boolean cached = isCacheUsable();
+
+        for (ID id : new LinkedHashSet<>(ids)) {
+            Object hit = cached ? cache.get(id) : null;
+
+            if (hit != null) {
+                T entity = copyAggregate(modelClass.cast(hit));
+                found.put(id, entity);
+                hits.add(entity);
             } else {
-                tableName.append(c);
+                missing.add(id);
+
+                if (cached)
+                    generations.put(id, cache.generation(id));
             }
         }
-        return tableName.toString();
+
+        List<List<ID>> chunks = new ArrayList<>();
+
+        for (int from = 0; from < missing.size(); from += batchSize) {
+            chunks.add(missing.subList(from, Math.min(from + batchSize, missing.size())));
+        }
+
+        List<T> loaded;
+
+        try {
+            loaded = loadChunks(chunks);
+        } catch (SQLException e) {
+            throw new SQLException("Error executing findAllById", e);
+        }
+
+        loadRelations(loaded);
+
+        for (T entity : loaded) {
+            Object id = metadata.getId(entity);
+            found.put(id, entity);
+
+            if (cached)
+                cache.putIfCurrent(id, copyAggregate(entity), generations.get(id));
+        }
+
+        withLazyRelations(hits);
+
+        Map<ID, T> ordered = new LinkedHashMap<>();
+
+        for (ID id : ids) {
+            T entity = found.get(id);
+
+            if (entity != null)
+                ordered.put(id, entity);
+        }
+
+        return ordered;
     }
 
-    private Map<String, String> resolveColumns() {
-        Map<String, String> columns = new HashMap<>();
+    private List<T> loadChunks(List<List<ID>> chunks) throws SQLException {
+        if (queryExecutor == null || chunks.size() < 2) {
+            List<T> results = new ArrayList<>();
 
-        for (Field field : modelClass.getDeclaredFields()) {
-            IgnoreColumn ignore = field.getAnnotation(IgnoreColumn.class);
-            if (ignore != null)
-                continue;
+            for (List<ID> chunk : chunks) {
+                results.addAll(loadChunk(chunk));
+            }
+
+            return results;
+        }
+
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>();
+        Executor executor = task -> queryExecutor.execute(propagate(task));
+
+        for (List<ID> chunk : chunks) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return loadChunk(chunk);
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+
+        List<T> results = new ArrayList<>();
 
-            Column columnAnnotation = field.getAnnotation(Column.class);
-            String columnName = (columnAnnotation != null && !columnAnnotation.value().isEmpty())
-                    ? columnAnnotation.value()
-                    : field.getName();
+        try {
+            for (CompletableFuture<List<T>> future : futures) {
+                results.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SQLException sqlException)
+                throw sqlException;
 
-            columns.put(field.getName(), columnName);
+            throw e;
         }
 
-        return columns;
+        return results;
     }
 
-    public Optional<T> findById(ID id) throws SQLException {
-        String sql = "SELECT * FROM " + tableName + " WHERE " + idColumnName + " = ?";
+    private List<T> loadChunk(List<ID> ids) throws SQLException {
+        return execute(Operation.FIND_ALL_BY_ID, metadata.getSelectByIdsSql(), stmt -> {
+            Array array = stmt.getConnection().createArrayOf(metadata.getIdSqlType(), ids.toArray());
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setObject(1, id);
-            ResultSet rs = stmt.executeQuery();
+            try {
+                stmt.setArray(1, array);
 
-            return rs.next()
-                    ? Optional.of(mapRow(rs))
-                    : Optional.empty();
-        } catch (SQLException | ReflectiveOperationException e) {
-            throw new SQLException("Error executing findById", e);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return mapAll(rs);
+                }
+            } finally {
+                array.free();
+            }
+        });
+    }
+
+    public Slice<T> findSlice(PageRequest request) throws SQLException {
+        KeysetQuery<T> query = keysetQuery(request);
+
+        try {
+            return findSlice(query, query.decode(request.getToken()), request.getSize(), -1);
+        } catch (SQLException e) {
+            throw new SQLException("Error executing findSlice", e);
         }
     }
 
-    public List<T> findAll() throws SQLException {
-        String sql = "SELECT * FROM " + tableName;
+    public Page<T> findPage(PageRequest request) throws SQLException {
+        KeysetQuery<T> query = keysetQuery(request);
+        KeysetQuery.Cursor cursor = query.decode(request.getToken());
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            ResultSet rs = stmt.executeQuery();
-            List<T> results = new ArrayList<>();
+        try {
+            long total = cursor != null && cursor.total() >= 0 ? cursor.total() : count();
+            Slice<T> slice = findSlice(query, cursor, request.getSize(), total);
 
-            while (rs.next()) {
-                results.add(mapRow(rs));
+            return new Page<>(slice.content(), slice.size(), slice.nextToken(), total);
+        } catch (SQLException e) {
+            throw new SQLException("Error executing findPage", e);
+        }
+    }
+
+    private KeysetQuery<T> keysetQuery(PageRequest request) {
+        return keysetQueries.computeIfAbsent(request.getSort() + " " + request.getDirection(),
+                key -> new KeysetQuery<>(metadata, request.getSort(), request.getDirection()));
+    }
+
+    private Slice<T> findSlice(KeysetQuery<T> query, KeysetQuery.Cursor cursor, int size, long total)
+            throws SQLException {
+        String sql = query.sql(cursor);
+
+        List<T> rows = execute(new StatementKey(modelClass, Operation.FIND_PAGE, sql), sql, stmt -> {
+            int index = query.bind(stmt, cursor);
+            stmt.setInt(index, size + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return mapAll(rs);
             }
+        });
 
-            return results;
-        } catch (SQLException | ReflectiveOperationException e) {
-            throw new SQLException("Error executing findAll", e);
+        String nextToken = null;
+
+        if (rows.size() > size) {
+            rows = new ArrayList<>(rows.subList(0, size));
+            nextToken = query.encode(rows.get(rows.size() - 1), total);
         }
+
+        loadRelations(rows);
+        return new Slice<>(rows, size, nextToken);
     }
 
-    public int save(T entity) throws SQLException {
-        idColumn.setAccessible(true);
-        Object idValue;
+    public long count() throws SQLException {
+        try {
+            return execute(Operation.COUNT, metadata.getCountSql(), stmt -> {
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? rs.getLong(1) : 0L;
+                }
+            });
+        } catch (SQLException e) {
+            throw new SQLException("Error executing count", e);
+        }
+    }
 
+    public Stream<T> streamAll() throws SQLException {
         try {
-            idValue = idColumn.get(entity);
-        } catch (IllegalAccessException e) {
-            throw new SQLException("Unable to access @Id field value", e);
+            return stream(Operation.FIND_ALL, "STREAM_ALL", metadata.getSelectAllSql(), StatementBinder.NONE);
+        } catch (SQLException e) {
+            throw new SQLException("Error executing streamAll", e);
         }
+    }
+
+    public <P> Stream<P> streamAll(Class<P> type) throws SQLException {
+        Projection<P> projection = metadata.getProjection(type);
 
+        try {
+            return stream(Operation.FIND_ALL, "STREAM_ALL", projection.getSelectAllSql(), StatementBinder.NONE, projection);
+        } catch (SQLException e) {
+            throw new SQLException("Error executing streamAll", e);
+        }
+    }
+
+    public void forEach(Consumer<T> action) throws SQLException {
+        try (Stream<T> entities = streamAll()) {
+            entities.forEach(action);
+        }
+    }
+
+    public Stream<T> streamAllPartitioned(int parallelism) throws SQLException {
+        checkParallelism(parallelism);
+
+        try {
+            return partitionedScan.stream(parallelism, queryExecutor);
+        } catch (SQLException e) {
+            throw new SQLException("Error executing streamAllPartitioned", e);
+        }
+    }
+
+    public void forEachPartitioned(int parallelism, Consumer<? super T> action) throws SQLException {
+        checkParallelism(parallelism);
+
+        try {
+            partitionedScan.forEach(parallelism, queryExecutor, action);
+        } catch (SQLException e) {
+            throw new SQLException("Error executing forEachPartitioned", e);
+        }
+    }
+
+    private static void checkParallelism(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be positive");
+    }
+
+    public int save(T entity) throws SQLException {
+        Object idValue = metadata.getId(entity);
         boolean exists = false;
 
         if (idValue != null) {
-            String checkSql = "SELECT COUNT(*) FROM " + tableName + " WHERE " + idColumnName + " = ?";
+            StatementKey key = new StatementKey(modelClass, Operation.EXISTS_BY_ID);
 
-            try (PreparedStatement stmt = connection.prepareStatement(checkSql)) {
-                stmt.setObject(1, idValue);
+            exists = execute(key, key.operation().name(), false, metadata.getExistsByIdSql(), stmt -> {
+                metadata.getIdColumn().bind(stmt, 1, idValue);
 
                 try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next())
-                        exists = rs.getInt(1) > 0;
+                    return rs.next() && rs.getInt(1) > 0;
                 }
-            }
+            });
         }
 
         if (exists)
@@ -145,98 +413,795 @@ public abstract class JdbcRepository<T, ID> {
     }
 
     public int insert(T entity) throws SQLException {
-        Map<String, String> columns = resolveColumns();
-        String columnNames = String.join(", ", columns.values());
+        try {
+            return aggregate(() -> {
+                int inserted = execute(Operation.INSERT, metadata.getInsertSql(), stmt -> {
+                    mapper.bindInsert(stmt, entity);
+
+                    return stmt.executeUpdate();
+                });
 
-        String placeholders = columns
-                .values()
-                .stream()
-                .map(c -> "?").collect(Collectors.joining(", "));
+                writeRelations(List.of(entity));
+                return inserted;
+            });
+        } catch (SQLException e) {
+            throw new SQLException("Error executing save", e);
+        } finally {
+            evict(metadata.getId(entity));
+        }
+    }
+
+    public int update(T entity) throws SQLException {
+        try {
+            return aggregate(() -> {
+                int updated = execute(Operation.UPDATE, metadata.getUpdateSql(), stmt -> {
+                    mapper.bindUpdate(stmt, entity);
 
-        String sql = "insert into " + tableName + " (" + columnNames + ") values (" + placeholders + ")";
+                    return stmt.executeUpdate();
+                });
+
+                if (metadata.isVersioned() && updated == 0)
+                    throw conflict(entity);
+
+                writeRelations(List.of(entity));
+                incrementVersions(List.of(entity));
+                return updated;
+            });
+        } catch (OptimisticLockException e) {
+            throw e;
+        } catch (SQLException e) {
+            throw new SQLException("Error executing update", e);
+        } finally {
+            evict(metadata.getId(entity));
+        }
+    }
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            int index = 1;
+    public BatchUpdateResult<T> updateAll(Collection<T> entities) throws SQLException {
+        if (entities.isEmpty())
+            return new BatchUpdateResult<>(List.of(), List.of());
 
-            for (String fieldName : columns.keySet()) {
-                Field field = modelClass.getDeclaredField(fieldName);
-                field.setAccessible(true);
-                stmt.setObject(index++, field.get(entity));
+        try {
+            return aggregate(() -> {
+                int[] counts = executeUpdateBatch(entities);
+                List<T> updated = new ArrayList<>();
+                List<T> conflicts = new ArrayList<>();
+                int index = 0;
+
+                for (T entity : entities) {
+                    if (counts[index++] == 0)
+                        conflicts.add(entity);
+                    else
+                        updated.add(entity);
+                }
+
+                writeRelations(updated);
+                incrementVersions(updated);
+                return new BatchUpdateResult<>(updated, conflicts);
+            });
+        } catch (SQLException e) {
+            throw new SQLException("Error executing updateAll", e);
+        } finally {
+            evictAll(entities);
+        }
+    }
+
+    private int[] executeUpdateBatch(Collection<T> entities) throws SQLException {
+        return execute(Operation.UPDATE, metadata.getUpdateSql(), stmt -> {
+            int[] rowCounts = new int[entities.size()];
+            int position = 0;
+            int pending = 0;
+
+            for (T entity : entities) {
+                mapper.bindUpdate(stmt, entity);
+                stmt.addBatch();
+
+                if (++pending == batchSize) {
+                    position = copyCounts(stmt.executeBatch(), rowCounts, position);
+                    pending = 0;
+                }
             }
 
-            return stmt.executeUpdate();
-        } catch (SQLException | ReflectiveOperationException e) {
-            throw new SQLException("Error executing save", e);
+            if (pending > 0)
+                copyCounts(stmt.executeBatch(), rowCounts, position);
+
+            return rowCounts;
+        });
+    }
+
+    private static int copyCounts(int[] batch, int[] counts, int position) {
+        System.arraycopy(batch, 0, counts, position, batch.length);
+        return position + batch.length;
+    }
+
+    public int saveAll(Collection<T> entities) throws SQLException {
+        List<T> newEntities = new ArrayList<>();
+        List<T> identifiedEntities = new ArrayList<>();
+
+        for (T entity : entities) {
+            if (metadata.getId(entity) == null)
+                newEntities.add(entity);
+            else
+                identifiedEntities.add(entity);
         }
+
+        return insertAll(newEntities) + upsertAll(identifiedEntities);
     }
 
-    public int update(T entity) throws SQLException {
-        Map<String, String> columns = resolveColumns();
+    public int insertAll(Collection<T> entities) throws SQLException {
+        try {
+            return aggregate(() -> {
+                int inserted = executeBatch(Operation.INSERT, metadata.getInsertSql(), entities);
+
+                writeRelations(entities);
+                return inserted;
+            });
+        } catch (SQLException e) {
+            throw new SQLException("Error executing insertAll", e);
+        } finally {
+            evictAll(entities);
+        }
+    }
+
+    public int upsertAll(Collection<T> entities) throws SQLException {
+        if (metadata.isVersioned())
+            return upsertVersioned(entities);
 
-        String setClause = columns.values().stream()
-                .filter(s -> !s.equals(idColumnName))
-                .map(s -> s + " = ?")
-                .collect(Collectors.joining(", "));
+        try {
+            return aggregate(() -> {
+                int upserted = executeBatch(Operation.UPSERT, metadata.getUpsertSql(), entities);
+
+                writeRelations(entities);
+                return upserted;
+            });
+        } catch (SQLException e) {
+            throw new SQLException("Error executing upsertAll", e);
+        } finally {
+            evictAll(entities);
+        }
+    }
+
+    private int upsertVersioned(Collection<T> entities) throws SQLException {
+        if (entities.isEmpty())
+            return 0;
+
+        try {
+            return aggregate(() -> {
+                Map<Object, Object> written = executeVersionedUpsert(entities);
+                Map<T, Object> versions = new IdentityHashMap<>();
+
+                for (T entity : entities) {
+                    Object id = metadata.getId(entity);
+
+                    if (written.containsKey(id))
+                        versions.put(entity, written.get(id));
+                }
+
+                setVersions(versions);
+
+                for (T entity : entities) {
+                    if (!versions.containsKey(entity))
+                        throw conflict(entity);
+                }
 
-        String sql = "UPDATE " + tableName + " SET " + setClause + " WHERE " + idColumnName + " = ?";
+                writeRelations(entities);
+                return entities.size();
+            });
+        } catch (OptimisticLockException e) {
+            throw e;
+        } catch (SQLException e) {
+            throw new SQLException("Error executing upsertAll", e);
+        } finally {
+            evictAll(entities);
+        }
+    }
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            int index = 1;
+    private Map<Object, Object> executeVersionedUpsert(Collection<T> entities) throws SQLException {
+        StatementKey key = new StatementKey(modelClass, Operation.UPSERT);
+        String[] returning = {metadata.getIdColumn().getColumnName(), metadata.getVersionColumn().getColumnName()};
 
-            for (Map.Entry<String, String> entry : columns.entrySet()) {
-                if (!entry.getValue().equals(idColumnName)) {
-                    Field field = modelClass.getDeclaredField(entry.getKey());
-                    field.setAccessible(true);
-                    stmt.setObject(index++, field.get(entity));
+        return execute(key, key.operation().name(), false, metadata.getUpsertSql(), returning, stmt -> {
+            Map<Object, Object> written = new HashMap<>();
+            int pending = 0;
+
+            for (T entity : entities) {
+                mapper.bindInsert(stmt, entity);
+                stmt.addBatch();
+
+                if (++pending == batchSize) {
+                    stmt.executeBatch();
+                    readVersions(stmt, written);
+                    pending = 0;
                 }
             }
 
-            idColumn.setAccessible(true);
-            Object idValue = idColumn.get(entity);
-            stmt.setObject(index, idValue);
+            if (pending > 0) {
+                stmt.executeBatch();
+                readVersions(stmt, written);
+            }
 
-            return stmt.executeUpdate();
-        } catch (SQLException | ReflectiveOperationException e) {
-            throw new SQLException("Error executing update", e);
+            return written;
+        });
+    }
+
+    private void readVersions(PreparedStatement stmt, Map<Object, Object> written) throws SQLException {
+        try (ResultSet rs = stmt.getGeneratedKeys()) {
+            while (rs.next()) {
+                written.put(metadata.getIdColumn().read(rs, 1), metadata.getVersionColumn().read(rs, 2));
+            }
         }
     }
 
+    private void incrementVersions(Collection<T> entities) {
+        if (!metadata.isVersioned())
+            return;
+
+        Map<T, Object> previous = new IdentityHashMap<>();
+
+        for (T entity : entities) {
+            previous.put(entity, metadata.getVersion(entity));
+            metadata.incrementVersion(entity);
+        }
+
+        Transactions.afterRollback(dataSource, () -> previous.forEach(metadata.getVersionColumn()::set));
+    }
+
+    private void setVersions(Map<T, Object> versions) {
+        Map<T, Object> previous = new IdentityHashMap<>();
+
+        versions.forEach((entity, version) -> {
+            previous.put(entity, metadata.getVersion(entity));
+            metadata.getVersionColumn().set(entity, version);
+        });
+
+        Transactions.afterRollback(dataSource, () -> previous.forEach(metadata.getVersionColumn()::set));
+    }
+
+    private int executeBatch(Operation operation, String sql, Collection<T> entities) throws SQLException {
+        if (entities.isEmpty())
+            return 0;
+
+        return execute(operation, sql, stmt -> {
+            int affected = 0;
+            int pending = 0;
+
+            for (T entity : entities) {
+                mapper.bindInsert(stmt, entity);
+                stmt.addBatch();
+
+                if (++pending == batchSize) {
+                    affected += countAffected(stmt.executeBatch());
+                    pending = 0;
+                }
+            }
+
+            if (pending > 0)
+                affected += countAffected(stmt.executeBatch());
+
+            return affected;
+        });
+    }
+
+    static int countAffected(int[] counts) {
+        int affected = 0;
+
+        for (int count : counts) {
+            if (count == Statement.SUCCESS_NO_INFO)
+                affected++;
+            else if (count > 0)
+                affected += count;
+        }
+
+        return affected;
+    }
+
+    public BulkLoader<T> bulkLoader(BulkLoader.Format format) {
+        return new BulkLoader<>(dataSource, metadata, format);
+    }
+
     public int delete(T entity) throws SQLException {
-        String sql = "delete from " + tableName + " where " + idColumnName + " = ?";
+        if (metadata.isVersioned())
+            return deleteVersioned(entity);
+
+        try {
+            return aggregate(() -> {
+                deleteRelations(metadata.getId(entity));
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            idColumn.setAccessible(true);
-            Object idValue = idColumn.get(entity);
-            stmt.setObject(1, idValue);
+                return execute(Operation.DELETE, metadata.getDeleteByIdSql(), stmt -> {
+                    metadata.getIdColumn().bind(stmt, 1, metadata.getId(entity));
 
-            return stmt.executeUpdate();
-        } catch (SQLException | ReflectiveOperationException e) {
+                    return stmt.executeUpdate();
+                });
+            });
+        } catch (SQLException e) {
             throw new SQLException("Error executing delete", e);
+        } finally {
+            evict(metadata.getId(entity));
         }
     }
 
+    private int deleteVersioned(T entity) throws SQLException {
+        Object id = metadata.getId(entity);
+
+        try {
+            return aggregate(() -> {
+                int deleted = execute(Operation.DELETE, metadata.getDeleteByIdAndVersionSql(), stmt -> {
+                    metadata.getIdColumn().bind(stmt, 1, id);
+                    metadata.getVersionColumn().bind(stmt, 2, metadata.getVersion(entity));
+
+                    return stmt.executeUpdate();
+                });
+
+                if (deleted == 0)
+                    throw conflict(entity);
+
+                deleteRelations(id);
+                return deleted;
+            });
+        } catch (OptimisticLockException e) {
+            throw e;
+        } catch (SQLException e) {
+            throw new SQLException("Error executing delete", e);
+        } finally {
+            evict(id);
+        }
+    }
+
+    private OptimisticLockException conflict(T entity) {
+        return new OptimisticLockException(modelClass, metadata.getId(entity), metadata.getVersion(entity));
+    }
+
     public int deleteById(ID id) throws SQLException {
-        String sql = "delete from " + tableName + " where " + idColumnName + " = ?";
+        if (metadata.isVersioned())
+            throw new SQLException(modelClass.getSimpleName()
+                    + " is versioned, use delete(entity) so that its version is checked");
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setObject(1, id);
+        try {
+            return aggregate(() -> {
+                deleteRelations(id);
+
+                return execute(Operation.DELETE, metadata.getDeleteByIdSql(), stmt -> {
+                    metadata.getIdColumn().bind(stmt, 1, id);
 
-            return stmt.executeUpdate();
+                    return stmt.executeUpdate();
+                });
+            });
         } catch (SQLException e) {
             throw new SQLException("Error executing deleteById", e);
+        } finally {
+            evict(id);
         }
     }
 
-    protected T mapRow(ResultSet rs) throws ReflectiveOperationException, SQLException {
-        T instance = modelClass.getDeclaredConstructor().newInstance();
-        Map<String, String> columns = resolveColumns();
+    public void loadRelations(Collection<T> entities) throws SQLException {
+        if (relations.hasRelations())
+            relations.attach(entities, callback -> withConnection(true, callback), batchSize);
+    }
+
+    private T withLazyRelations(T entity) throws SQLException {
+        withLazyRelations(List.of(entity));
+        return entity;
+    }
+
+    private void withLazyRelations(List<T> entities) throws SQLException {
+        if (relations.hasRelations())
+            relations.attachLazy(entities, callback -> withConnection(true, callback), batchSize);
+    }
 
-        for (Map.Entry<String, String> entry : columns.entrySet()) {
-            Field field = modelClass.getDeclaredField(entry.getKey());
-            field.setAccessible(true);
-            field.set(instance, rs.getObject(entry.getValue()));
+    private void loadRelations(List<T> entities, Connection connection) throws SQLException {
+        relations.attach(entities, callback -> callback.doInConnection(connection),
+                callback -> withConnection(true, callback), batchSize);
+    }
+
+    private <R> R aggregate(SqlCallable<R> work) throws SQLException {
+        if (!relations.hasRelations())
+            return work.call();
+
+        return new TransactionTemplate(dataSource).inTransaction(status -> work.call());
+    }
+
+    private T withRelations(T entity) throws SQLException {
+        loadRelations(List.of(entity));
+        return entity;
+    }
+
+    private void writeRelations(Collection<T> entities) throws SQLException {
+        if (relations.hasRelations() && !entities.isEmpty()) {
+            withConnection(connection -> {
+                relations.write(connection, entities, batchSize);
+                return null;
+            });
+        }
+    }
+
+    private void deleteRelations(Object id) throws SQLException {
+        if (relations.hasRelations() && id != null) {
+            withConnection(connection -> {
+                relations.delete(connection, List.of(id), batchSize);
+                return null;
+            });
+        }
+    }
+
+    public Optional<CacheStats> getCacheStats() {
+        return Optional.ofNullable(cache).map(EntityCache::getStats);
+    }
+
+    private boolean isCacheUsable() {
+        return cache != null && !Transactions.isActive(dataSource);
+    }
+
+    protected void evict(Object id) {
+        clearOwnerCaches();
+
+        if (cache == null || id == null)
+            return;
+
+        cache.evict(id);
+
+        if (Transactions.isActive(dataSource))
+            Transactions.afterCompletion(dataSource, () -> cache.evict(id));
+    }
+
+    private void evictAll(Collection<T> entities) {
+        clearOwnerCaches();
+
+        if (cache == null)
+            return;
+
+        List<Object> ids = new ArrayList<>();
+
+        for (T entity : entities) {
+            Object id = metadata.getId(entity);
+
+            if (id != null) {
+                cache.evict(id);
+                ids.add(id);
+            }
+        }
+
+        if (Transactions.isActive(dataSource))
+            Transactions.afterCompletion(dataSource, () -> ids.forEach(cache::evict));
+    }
+
+    protected void clearCache() {
+        clearOwnerCaches();
+
+        if (cache == null)
+            return;
+
+        cache.clear();
+
+        if (Transactions.isActive(dataSource))
+            Transactions.afterCompletion(dataSource, cache::clear);
+    }
+
+    private void clearOwnerCaches() {
+        RelationManager.clearOwnerCaches(modelClass);
+
+        if (Transactions.isActive(dataSource))
+            Transactions.afterCompletion(dataSource, () -> RelationManager.clearOwnerCaches(modelClass));
+    }
+
+    private T copyAggregate(T entity) throws SQLException {
+        try {
+            return relations.copyAggregate(entity);
+        } catch (ReflectiveOperationException e) {
+            throw new SQLException("Unable to copy " + modelClass.getName(), e);
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be positive");
+
+        this.batchSize = batchSize;
+    }
+
+    Runnable propagate(Runnable task) {
+        try {
+            if (dataSource.isWrapperFor(RoutingDataSource.class))
+                return dataSource.unwrap(RoutingDataSource.class).propagate(task);
+        } catch (SQLException ignored) {
         }
 
-        return instance;
+        return task;
+    }
+
+    protected <R> R withConnection(ConnectionCallback<R> callback) throws SQLException {
+        return withConnection(false, callback);
+    }
+
+    protected <R> R withConnection(boolean readOnly, ConnectionCallback<R> callback) throws SQLException {
+        try (Connection connection = Transactions.getConnection(dataSource, readOnly)) {
+            return callback.doInConnection(connection);
+        }
+    }
+
+    protected <R> R execute(String sql, StatementCallback<R> callback) throws SQLException {
+        return withConnection(connection -> {
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                return callback.doInStatement(stmt);
+            }
+        });
+    }
+
+    protected <R> R execute(Operation operation, String sql, StatementCallback<R> callback) throws SQLException {
+        return execute(new StatementKey(modelClass, operation), sql, callback);
+    }
+
+    <R> R execute(StatementKey key, String sql, StatementCallback<R> callback) throws SQLException {
+        return execute(key, key.operation().name(), sql, callback);
+    }
+
+    <R> R execute(StatementKey key, String name, String sql, StatementCallback<R> callback) throws SQLException {
+        return execute(key, name, key.operation().isReadOnly(), sql, callback);
+    }
+
+    private <R> R execute(StatementKey key, String name, boolean readOnly, String sql, StatementCallback<R> callback)
+            throws SQLException {
+        return execute(key, name, readOnly, sql, null, callback);
+    }
+
+    private <R> R execute(StatementKey key, String name, boolean readOnly, String sql, String[] returning,
+                          StatementCallback<R> callback) throws SQLException {
+        if (!QueryListeners.isEnabled())
+            return withConnection(readOnly, connection -> execute(connection, key, sql, returning, callback, null));
+
+        QueryTrace trace = QueryTrace.begin();
+        R result = null;
+        Throwable failure = null;
+
+        try {
+            result = withConnection(readOnly, connection -> execute(connection, key, sql, returning, callback, trace));
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            QueryListeners.publish(trace.end(modelClass, key.operation(), name, sql, result, failure));
+        }
+    }
+
+    private static <R> R execute(Connection connection, StatementKey key, String sql, String[] returning,
+                                 StatementCallback<R> callback, QueryTrace trace) throws SQLException {
+        long started = System.nanoTime();
+
+        if (!connection.isWrapperFor(StatementCache.class)) {
+            try (PreparedStatement stmt = returning != null
+                    ? connection.prepareStatement(sql, returning)
+                    : connection.prepareStatement(sql)) {
+                if (trace != null)
+                    trace.prepared(started);
+
+                return callback.doInStatement(stmt);
+            }
+        }
+
+        StatementCache cache = connection.unwrap(StatementCache.class);
+        PreparedStatement stmt = cache.acquire(key, sql, returning);
+
+        if (trace != null)
+            trace.prepared(started);
+
+        try {
+            return callback.doInStatement(stmt);
+        } finally {
+            cache.release(key, stmt);
+        }
+    }
+
+    protected <Q> Q derive(Class<Q> queries) {
+        Map<Method, QueryMethod<T>> methods = new HashMap<>();
+
+        for (Method method : queries.getMethods()) {
+            if (!method.isDefault() && !Modifier.isStatic(method.getModifiers()))
+                methods.put(method, QueryMethod.of(method, metadata));
+        }
+
+        InvocationHandler handler = (proxy, method, args) -> {
+            QueryMethod<T> query = methods.get(method);
+
+            if (query == null) {
+                if (method.isDefault())
+                    return InvocationHandler.invokeDefault(proxy, method, args);
+
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> queries.getSimpleName() + " for " + modelClass.getSimpleName();
+                };
+            }
+
+            try {
+                return query.execute(this, args == null ? new Object[0] : args);
+            } catch (SQLException e) {
+                if (query.throwsSqlException())
+                    throw new SQLException("Error executing " + method.getName(), e);
+
+                throw new RuntimeException(e);
+            }
+        };
+
+        return queries.cast(Proxy.newProxyInstance(queries.getClassLoader(), new Class<?>[]{queries}, handler));
+    }
+
+    protected Stream<T> stream(String sql, StatementBinder binder) throws SQLException {
+        return stream(Operation.QUERY, "STREAM", sql, binder);
+    }
+
+    Stream<T> stream(Operation operation, String name, String sql, StatementBinder binder) throws SQLException {
+        return stream(operation, name, sql, binder, this::rowMapper,
+                relations.hasRelations() ? this::loadRelations : null);
+    }
+
+    <P> Stream<P> stream(Operation operation, String name, String sql, StatementBinder binder,
+                         Projection<P> projection) throws SQLException {
+        return stream(operation, name, sql, binder, rs -> rowMapper(rs, projection), null);
+    }
+
+    private <R> Stream<R> stream(Operation operation, String name, String sql, StatementBinder binder,
+                                 RowMapperFactory<R> mappers, RelationLoader<R> relationLoader) throws SQLException {
+        QueryTrace trace = QueryListeners.isEnabled() ? QueryTrace.detached() : null;
+        Connection connection = Transactions.getConnection(dataSource, operation.isReadOnly());
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+
+        try {
+            connection.setAutoCommit(false);
+
+            long started = System.nanoTime();
+            stmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+
+            if (trace != null)
+                trace.prepared(started);
+
+            stmt.setFetchSize(fetchSize);
+            binder.bind(stmt);
+
+            rs = stmt.executeQuery();
+            RowMapper<R> rowMapper = trace != null ? trace.timed(mappers.bind(rs)) : mappers.bind(rs);
+            ResultSet cursor = rs;
+
+            Spliterator<R> rows = new Spliterators.AbstractSpliterator<>(
+                    Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                private final Deque<R> fetched = new ArrayDeque<>();
+
+                @Override
+                public boolean tryAdvance(Consumer<? super R> action) {
+                    try {
+                        if (relationLoader == null) {
+                            if (!cursor.next())
+                                return false;
+
+                            action.accept(rowMapper.mapRow(cursor));
+                            return true;
+                        }
+
+                        if (fetched.isEmpty() && !fetchBatch())
+                            return false;
+
+                        action.accept(fetched.poll());
+                        return true;
+                    } catch (SQLException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+
+                private boolean fetchBatch() throws SQLException {
+                    List<R> batch = new ArrayList<>(batchSize);
+
+                    while (batch.size() < batchSize && cursor.next()) {
+                        batch.add(rowMapper.mapRow(cursor));
+                    }
+
+                    relationLoader.load(batch, connection);
+                    fetched.addAll(batch);
+
+                    return !batch.isEmpty();
+                }
+            };
+
+            PreparedStatement statement = stmt;
+
+            return StreamSupport.stream(rows, false)
+                    .onClose(() -> {
+                        closeQuietly(cursor, statement, connection);
+
+                        if (trace != null)
+                            QueryListeners.publish(trace.end(modelClass, operation, name, sql, null, null));
+                    });
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(rs, stmt, connection);
+
+            if (trace != null)
+                QueryListeners.publish(trace.end(modelClass, operation, name, sql, null, e));
+
+            throw e;
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null)
+                continue;
+
+            try {
+                resource.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 1)
+            throw new IllegalArgumentException("Fetch size must be positive");
+
+        this.fetchSize = fetchSize;
+    }
+
+    public Executor getQueryExecutor() {
+        return queryExecutor;
+    }
+
+    public void setQueryExecutor(Executor queryExecutor) {
+        this.queryExecutor = queryExecutor;
+    }
+
+    protected RowMapper<T> rowMapper(ResultSet rs) throws SQLException {
+        RowMapper<T> rowMapper = EntityRowMapper.bind(metadata, mapper, rs.getMetaData());
+        QueryTrace trace = QueryTrace.current();
+
+        return trace != null ? trace.timed(rowMapper) : rowMapper;
+    }
+
+    protected List<T> mapAll(ResultSet rs) throws SQLException {
+        RowMapper<T> rowMapper = rowMapper(rs);
+        List<T> results = new ArrayList<>();
+
+        while (rs.next()) {
+            results.add(rowMapper.mapRow(rs));
+        }
+
+        return results;
+    }
+
+    protected T mapRow(ResultSet rs) throws SQLException {
+        return rowMapper(rs).mapRow(rs);
+    }
+
+    <P> RowMapper<P> rowMapper(ResultSet rs, Projection<P> projection) throws SQLException {
+        RowMapper<P> rowMapper = projection.rowMapper(rs.getMetaData());
+        QueryTrace trace = QueryTrace.current();
+
+        return trace != null ? trace.timed(rowMapper) : rowMapper;
+    }
+
+    <P> List<P> mapAll(ResultSet rs, Projection<P> projection) throws SQLException {
+        RowMapper<P> rowMapper = rowMapper(rs, projection);
+        List<P> results = new ArrayList<>();
+
+        while (rs.next()) {
+            results.add(rowMapper.mapRow(rs));
+        }
+
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface RowMapperFactory<R> {
+        RowMapper<R> bind(ResultSet rs) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RelationLoader<R> {
+        void load(List<R> rows, Connection connection) throws SQLException;
     }
 }
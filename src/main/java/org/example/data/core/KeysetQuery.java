@@ -0,0 +1,191 @@
+package org.example.data.core;
+
+import org.example.data.core.page.PageRequest;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+final class KeysetQuery<T> {
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "\u001F";
+
+    private static final Map<Class<?>, Function<String, Object>> PARSERS = Map.ofEntries(
+            Map.entry(String.class, value -> value),
+            Map.entry(int.class, Integer::valueOf),
+            Map.entry(Integer.class, Integer::valueOf),
+            Map.entry(long.class, Long::valueOf),
+            Map.entry(Long.class, Long::valueOf),
+            Map.entry(short.class, Short::valueOf),
+            Map.entry(Short.class, Short::valueOf),
+            Map.entry(double.class, Double::valueOf),
+            Map.entry(Double.class, Double::valueOf),
+            Map.entry(float.class, Float::valueOf),
+            Map.entry(Float.class, Float::valueOf),
+            Map.entry(boolean.class, Boolean::valueOf),
+            Map.entry(Boolean.class, Boolean::valueOf),
+            Map.entry(UUID.class, UUID::fromString),
+            Map.entry(BigDecimal.class, BigDecimal::new),
+            Map.entry(LocalDate.class, LocalDate::parse),
+            Map.entry(LocalDateTime.class, LocalDateTime::parse),
+            Map.entry(LocalTime.class, LocalTime::parse),
+            Map.entry(OffsetDateTime.class, OffsetDateTime::parse),
+            Map.entry(Instant.class, Instant::parse));
+
+    private final EntityMapper<T> mapper;
+    private final ColumnMetadata sortColumn;
+    private final ColumnMetadata idColumn;
+    private final PageRequest.Direction direction;
+    private final boolean byId;
+    private final boolean nullable;
+    private final Function<String, Object> sortParser;
+    private final Function<String, Object> idParser;
+
+    private final String firstSql;
+    private final String afterValueSql;
+    private final String afterNullSql;
+
+    KeysetQuery(EntityMetadata<T> metadata, String sort, PageRequest.Direction direction) {
+        this.mapper = metadata.getMapper();
+        this.idColumn = metadata.getIdColumn();
+        this.sortColumn = sort == null
+                ? idColumn
+                : metadata.findProperty(sort).orElseThrow(() -> new IllegalArgumentException(
+                        "Unknown sort property " + sort + " for " + metadata.getModelClass().getSimpleName()));
+        this.direction = direction;
+        this.byId = sortColumn == idColumn;
+        this.nullable = !byId && !sortColumn.isPrimitive();
+
+        this.sortParser = parser(sortColumn);
+        this.idParser = parser(idColumn);
+
+        String sortName = sortColumn.getColumnName();
+        String idName = idColumn.getColumnName();
+        String select = "SELECT * FROM " + metadata.getTableName();
+        String order = direction == PageRequest.Direction.ASC ? " ASC" : " DESC";
+        String orderBy = byId
+                ? " ORDER BY " + idName + order
+                : " ORDER BY " + sortName + order + ", " + idName + order;
+        String limit = " LIMIT ?";
+        String comparison = direction == PageRequest.Direction.ASC ? " > " : " < ";
+
+        String afterValue = byId
+                ? idName + comparison + "?"
+                : "(" + sortName + ", " + idName + ")" + comparison + "(?, ?)";
+
+        if (nullable && direction == PageRequest.Direction.ASC)
+            afterValue = "(" + afterValue + " OR " + sortName + " IS NULL)";
+
+        String afterNull = direction == PageRequest.Direction.ASC
+                ? "(" + sortName + " IS NULL AND " + idName + comparison + "?)"
+                : "((" + sortName + " IS NULL AND " + idName + comparison + "?) OR " + sortName + " IS NOT NULL)";
+
+        this.firstSql = select + orderBy + limit;
+        this.afterValueSql = select + " WHERE " + afterValue + orderBy + limit;
+        this.afterNullSql = nullable ? select + " WHERE " + afterNull + orderBy + limit : null;
+    }
+
+    Cursor decode(String token) {
+        if (token == null)
+            return null;
+
+        String[] parts;
+
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed page token", e);
+        }
+
+        if ((parts.length != 5 && parts.length != 6) || !VERSION.equals(parts[0]))
+            throw new IllegalArgumentException("Malformed page token");
+
+        if (!parts[1].equals(sortColumn.getColumnName() + " " + direction))
+            throw new IllegalArgumentException("Page token was issued for a different sort order");
+
+        boolean nullValue = "N".equals(parts[2]);
+
+        if (nullValue && !nullable)
+            throw new IllegalArgumentException("Malformed page token");
+
+        try {
+            Object value = nullValue ? null : sortParser.apply(parts[3]);
+            Object id = idParser.apply(parts[4]);
+            long total = parts.length == 6 ? Long.parseLong(parts[5]) : -1;
+
+            return new Cursor(nullValue, value, id, total);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed page token", e);
+        }
+    }
+
+    String encode(T last, long total) {
+        Object value = sortColumn.get(last);
+        Object id = mapper.getId(last);
+
+        String token = String.join(SEPARATOR,
+                VERSION,
+                sortColumn.getColumnName() + " " + direction,
+                value == null ? "N" : "V",
+                value == null ? "" : format(value),
+                format(id));
+
+        if (total >= 0)
+            token += SEPARATOR + total;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    String sql(Cursor cursor) {
+        if (cursor == null)
+            return firstSql;
+
+        return cursor.nullValue() ? afterNullSql : afterValueSql;
+    }
+
+    int bind(PreparedStatement stmt, Cursor cursor) throws SQLException {
+        int index = 1;
+
+        if (cursor == null)
+            return index;
+
+        if (!byId && !cursor.nullValue())
+            sortColumn.bind(stmt, index++, cursor.value());
+
+        idColumn.bind(stmt, index++, cursor.id());
+        return index;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<String, Object> parser(ColumnMetadata column) {
+        Class<?> type = column.getType();
+
+        if (type.isEnum())
+            return value -> Enum.valueOf((Class) type, value);
+
+        Function<String, Object> parser = PARSERS.get(type);
+
+        if (parser == null)
+            throw new IllegalArgumentException("Column " + column.getColumnName() + " of type "
+                    + type.getSimpleName() + " cannot be used as a keyset");
+
+        return parser;
+    }
+
+    private static String format(Object value) {
+        return value instanceof Enum<?> constant ? constant.name() : value.toString();
+    }
+
+    record Cursor(boolean nullValue, Object value, Object id, long total) {
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.data.core;
+
+import java.sql.SQLException;
+import java.util.AbstractList;
+import java.util.List;
+
+public final class LazyList<E> extends AbstractList<E> {
+    @FunctionalInterface
+    public interface Loader<E> {
+        List<E> load() throws SQLException;
+    }
+
+    private final Loader<E> loader;
+    private List<E> delegate;
+
+    public LazyList(Loader<E> loader) {
+        this.loader = loader;
+    }
+
+    public boolean isLoaded() {
+        return delegate != null;
+    }
+
+    private List<E> delegate() {
+        if (delegate == null) {
+            try {
+                delegate = loader.load();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Unable to load lazy relation", e);
+            }
+        }
+
+        return delegate;
+    }
+
+    @Override
+    public E get(int index) {
+        return delegate().get(index);
+    }
+
+    @Override
+    public int size() {
+        return delegate().size();
+    }
+
+    @Override
+    public E set(int index, E element) {
+        return delegate().set(index, element);
+    }
+
+    @Override
+    public void add(int index, E element) {
+        delegate().add(index, element);
+    }
+
+    @Override
+    public E remove(int index) {
+        return delegate().remove(index);
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.data.core;
+
+public enum Operation {
+    FIND_BY_ID(true),
+    FIND_ALL_BY_ID(true),
+    FIND_ALL(true),
+    FIND_PAGE(true),
+    COUNT(true),
+    EXISTS_BY_ID(true),
+    INSERT(false),
+    UPSERT(false),
+    UPDATE(false),
+    DELETE(false),
+    SCAN(true),
+    QUERY(true),
+    CUSTOM(false);
+
+    private final boolean readOnly;
+
+    Operation(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+}
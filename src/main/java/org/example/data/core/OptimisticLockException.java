@@ -0,0 +1,22 @@
+package org.example.data.core;
+
+import lombok.Getter;
+
+import java.sql.SQLException;
+
+@Getter
+public class OptimisticLockException extends SQLException {
+    private static final long serialVersionUID = 1L;
+
+    private final Class<?> modelClass;
+    private final Object id;
+    private final Object version;
+
+    public OptimisticLockException(Class<?> modelClass, Object id, Object version) {
+        super(modelClass.getSimpleName() + " with id " + id + " was updated or deleted by another transaction"
+                + " (expected version " + version + ")");
+        this.modelClass = modelClass;
+        this.id = id;
+        this.version = version;
+    }
+}
@@ -0,0 +1,386 @@
+package org.example.data.core;
+
+import org.example.data.source.PoolConfig;
+import org.example.data.source.PooledDataSource;
+
+import java.lang.ref.Cleaner;
+import java.math.BigInteger;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+final class PartitionedScan<T> {
+    static final int PARTITIONS_PER_WORKER = 4;
+
+    private static final int TRANSFER_BATCH_SIZE = 256;
+    private static final int QUEUED_BATCHES_PER_WORKER = 4;
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+    private static final BigInteger UUID_SPACE = BigInteger.ONE.shiftLeft(64);
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final JdbcRepository<T, ?> repository;
+    private final EntityMetadata<T> metadata;
+    private final Class<?> idType;
+    private final String boundsSql;
+
+    PartitionedScan(JdbcRepository<T, ?> repository, EntityMetadata<T> metadata) {
+        this.repository = repository;
+        this.metadata = metadata;
+        this.idType = metadata.getIdColumn().getType();
+
+        String idColumnName = metadata.getIdColumn().getColumnName();
+        this.boundsSql = "SELECT min(" + idColumnName + "), max(" + idColumnName + ") FROM " + metadata.getTableName();
+    }
+
+    record Partition(Object lower, Object upper) {
+    }
+
+    List<Partition> partitions(int count) throws SQLException {
+        if (count < 1)
+            throw new IllegalArgumentException("Partition count must be positive");
+
+        List<Object> bounds = idType == UUID.class ? uuidBounds(count) : numericBounds(count);
+        List<Partition> partitions = new ArrayList<>();
+
+        for (int i = 0; i <= bounds.size(); i++) {
+            partitions.add(new Partition(i == 0 ? null : bounds.get(i - 1), i == bounds.size() ? null : bounds.get(i)));
+        }
+
+        return partitions;
+    }
+
+    Stream<T> stream(int parallelism, Executor executor) throws SQLException {
+        int workers = workers(parallelism);
+        Queue<Partition> pending = new ConcurrentLinkedQueue<>(partitions(workers * PARTITIONS_PER_WORKER));
+        workers = Math.min(workers, pending.size());
+        Transfer transfer = new Transfer(workers * QUEUED_BATCHES_PER_WORKER, workers);
+
+        for (int i = 0; i < workers; i++) {
+            start(executor, i, () -> {
+                List<T> batch = new ArrayList<>(TRANSFER_BATCH_SIZE);
+
+                try {
+                    Partition partition;
+
+                    while (!transfer.cancelled && (partition = pending.poll()) != null) {
+                        scan(partition, row -> {
+                            batch.add(row);
+
+                            if (batch.size() == TRANSFER_BATCH_SIZE) {
+                                transfer.put(new ArrayList<>(batch));
+                                batch.clear();
+                            }
+                        });
+                    }
+
+                    if (!batch.isEmpty())
+                        transfer.put(batch);
+                } catch (Throwable e) {
+                    transfer.fail(e);
+                } finally {
+                    transfer.workerDone();
+                }
+            });
+        }
+
+        Rows<T> rows = new Rows<>(transfer);
+        CLEANER.register(rows, transfer::cancel);
+
+        return StreamSupport.stream(rows, true).onClose(transfer::cancel);
+    }
+
+    void forEach(int parallelism, Executor executor, Consumer<? super T> action) throws SQLException {
+        int workers = workers(parallelism);
+        Queue<Partition> pending = new ConcurrentLinkedQueue<>(partitions(workers * PARTITIONS_PER_WORKER));
+        workers = Math.min(workers, pending.size());
+        CountDownLatch done = new CountDownLatch(workers);
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < workers; i++) {
+            start(executor, i, () -> {
+                try {
+                    Partition partition;
+
+                    while (failures.isEmpty() && (partition = pending.poll()) != null) {
+                        scan(partition, action);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for partition scan", e);
+        }
+
+        if (!failures.isEmpty()) {
+            Throwable failure = failures.get(0);
+
+            if (failure instanceof SQLException sqlException)
+                throw sqlException;
+            if (failure instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if (failure instanceof Error error)
+                throw error;
+
+            throw new SQLException("Partition scan failed", failure);
+        }
+    }
+
+    String sql(Partition partition) {
+        String idColumnName = metadata.getIdColumn().getColumnName();
+        String sql = metadata.getSelectAllSql();
+
+        if (partition.lower() != null && partition.upper() != null)
+            return sql + " WHERE " + idColumnName + " >= ? AND " + idColumnName + " < ?";
+        if (partition.lower() != null)
+            return sql + " WHERE " + idColumnName + " >= ?";
+        if (partition.upper() != null)
+            return sql + " WHERE " + idColumnName + " < ?";
+
+        return sql;
+    }
+
+    private void scan(Partition partition, Consumer<? super T> action) throws SQLException {
+        ColumnMetadata idColumn = metadata.getIdColumn();
+
+        StatementBinder binder = stmt -> {
+            int index = 1;
+
+            if (partition.lower() != null)
+                idColumn.bind(stmt, index++, partition.lower());
+            if (partition.upper() != null)
+                idColumn.bind(stmt, index, partition.upper());
+        };
+
+        try (Stream<T> rows = repository.stream(Operation.SCAN, "SCAN", sql(partition), binder)) {
+            rows.forEach(action);
+        }
+    }
+
+    private int workers(int parallelism) {
+        int maxSize = PoolConfig.builder().build().getMaxSize();
+
+        try {
+            if (repository.dataSource.isWrapperFor(PooledDataSource.class))
+                maxSize = repository.dataSource.unwrap(PooledDataSource.class).getConfig().getMaxSize();
+        } catch (SQLException ignored) {
+        }
+
+        return Math.min(parallelism, maxSize);
+    }
+
+    private void start(Executor executor, int worker, Runnable task) {
+        task = repository.propagate(task);
+
+        if (executor != null) {
+            executor.execute(task);
+            return;
+        }
+
+        Thread thread = new Thread(task, metadata.getTableName() + "-scan-" + worker);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private List<Object> uuidBounds(int count) {
+        List<Object> bounds = new ArrayList<>();
+
+        for (int i = 1; i < count; i++) {
+            long mostSignificantBits = UUID_SPACE.multiply(BigInteger.valueOf(i))
+                    .divide(BigInteger.valueOf(count))
+                    .longValue();
+
+            bounds.add(new UUID(mostSignificantBits, 0));
+        }
+
+        return bounds;
+    }
+
+    private List<Object> numericBounds(int count) throws SQLException {
+        if (idType != int.class && idType != Integer.class && idType != long.class && idType != Long.class
+                && idType != short.class && idType != Short.class)
+            throw new SQLException("Partitioned scan requires a numeric or UUID id, but "
+                    + metadata.getModelClass().getSimpleName() + " uses " + idType.getSimpleName());
+
+        long[] range = repository.execute(new StatementKey(metadata.getModelClass(), Operation.SCAN, boundsSql),
+                "SCAN_BOUNDS", boundsSql, stmt -> {
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        rs.next();
+
+                        long min = rs.getLong(1);
+                        return rs.wasNull() ? null : new long[]{min, rs.getLong(2)};
+                    }
+                });
+
+        List<Object> bounds = new ArrayList<>();
+
+        if (range == null)
+            return bounds;
+
+        BigInteger min = BigInteger.valueOf(range[0]);
+        BigInteger span = BigInteger.valueOf(range[1]).subtract(min).add(BigInteger.ONE);
+        long previous = range[0];
+
+        for (int i = 1; i < count; i++) {
+            long bound = min.add(span.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(count))).longValue();
+
+            if (bound > previous) {
+                bounds.add(toIdType(bound));
+                previous = bound;
+            }
+        }
+
+        return bounds;
+    }
+
+    private Object toIdType(long value) {
+        if (idType == int.class || idType == Integer.class)
+            return (int) value;
+        if (idType == short.class || idType == Short.class)
+            return (short) value;
+
+        return value;
+    }
+
+    private static final class Transfer {
+        private static final List<Object> END = List.of();
+
+        private final BlockingQueue<List<?>> queue;
+        private final AtomicInteger activeWorkers;
+
+        private volatile boolean cancelled;
+        private volatile Throwable failure;
+
+        private Transfer(int capacity, int workers) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.activeWorkers = new AtomicInteger(workers);
+        }
+
+        private void put(List<?> batch) {
+            try {
+                do {
+                    if (cancelled)
+                        throw new IllegalStateException("Partition scan was cancelled");
+                } while (!queue.offer(batch, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while handing over scanned rows", e);
+            }
+        }
+
+        private List<?> take() {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for scanned rows", e);
+            }
+        }
+
+        private void fail(Throwable e) {
+            if (failure == null && !cancelled)
+                failure = e;
+
+            cancelled = true;
+        }
+
+        private void workerDone() {
+            if (activeWorkers.decrementAndGet() == 0) {
+                try {
+                    while (!queue.offer(END, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                        if (!cancelled)
+                            continue;
+                        if (failure == null)
+                            return;
+
+                        queue.poll();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            queue.clear();
+        }
+
+        private void checkFailure() {
+            Throwable e = failure;
+
+            if (e instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if (e instanceof Error error)
+                throw error;
+            if (e != null)
+                throw new RuntimeException(e);
+        }
+    }
+
+    private static final class Rows<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Transfer transfer;
+
+        private List<?> current = List.of();
+        private int position;
+        private boolean finished;
+
+        private Rows(Transfer transfer) {
+            super(Long.MAX_VALUE, Spliterator.NONNULL);
+            this.transfer = transfer;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized boolean tryAdvance(Consumer<? super T> action) {
+            boolean advanced = false;
+
+            try {
+                while (position == current.size()) {
+                    if (finished)
+                        return false;
+
+                    transfer.checkFailure();
+                    current = transfer.take();
+                    position = 0;
+
+                    if (current == Transfer.END) {
+                        finished = true;
+                        transfer.checkFailure();
+                        return false;
+                    }
+                }
+
+                action.accept((T) current.get(position++));
+                advanced = true;
+                return true;
+            } finally {
+                if (!advanced)
+                    transfer.cancel();
+            }
+        }
+    }
+}
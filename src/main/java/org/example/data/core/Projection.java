@@ -0,0 +1,269 @@
+package org.example.data.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.RecordComponent;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+final class Projection<P> {
+    private final Class<P> type;
+    private final List<String> propertyNames;
+    private final List<ColumnMetadata> columns;
+    private final ValueReader[] readers;
+    private final Object[] defaults;
+    private final Map<Method, Integer> accessors;
+    private final MethodHandle constructor;
+
+    private final String selectList;
+    private final String selectAllSql;
+    private final String selectByIdSql;
+
+    private Projection(Class<P> type, EntityMetadata<?> metadata) {
+        if (!type.isRecord() && !type.isInterface())
+            throw invalid(type, "must be an interface or a record");
+
+        List<String> propertyNames = new ArrayList<>();
+        List<Class<?>> propertyTypes = new ArrayList<>();
+        List<ColumnMetadata> columns = new ArrayList<>();
+        Map<Method, Integer> accessors = new HashMap<>();
+
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                propertyNames.add(component.getName());
+                propertyTypes.add(component.getType());
+                columns.add(column(type, metadata, component.getName(), component.getType(), List.of(component.getName())));
+            }
+        } else {
+            for (Method method : type.getMethods()) {
+                if (method.isDefault() || Modifier.isStatic(method.getModifiers()))
+                    continue;
+
+                if (method.getParameterCount() > 0 || method.getReturnType() == void.class)
+                    throw invalid(type, "declares " + method.getName() + " which is not a property accessor");
+
+                List<String> candidates = candidates(method);
+
+                accessors.put(method, columns.size());
+                propertyNames.add(candidates.get(candidates.size() - 1));
+                propertyTypes.add(method.getReturnType());
+                columns.add(column(type, metadata, method.getName(), method.getReturnType(), candidates));
+            }
+        }
+
+        if (columns.isEmpty())
+            throw invalid(type, "does not declare any properties");
+
+        this.type = type;
+        this.propertyNames = List.copyOf(propertyNames);
+        this.columns = List.copyOf(columns);
+        this.readers = new ValueReader[columns.size()];
+
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = ValueReader.forProperty(propertyTypes.get(i), columns.get(i));
+        }
+
+        this.defaults = propertyTypes.stream()
+                .map(propertyType -> propertyType.isPrimitive()
+                        ? java.lang.reflect.Array.get(java.lang.reflect.Array.newInstance(propertyType, 1), 0)
+                        : null)
+                .toArray();
+        this.accessors = Map.copyOf(accessors);
+        this.constructor = type.isRecord() ? recordConstructor(type, propertyTypes) : null;
+
+        this.selectList = columns.stream()
+                .map(ColumnMetadata::getColumnName)
+                .distinct()
+                .collect(Collectors.joining(", "));
+        this.selectAllSql = "SELECT " + selectList + " FROM " + metadata.getTableName();
+        this.selectByIdSql = selectAllSql + " WHERE " + metadata.getIdColumn().getColumnName() + " = ?";
+    }
+
+    static <P> Projection<P> of(Class<P> type, EntityMetadata<?> metadata) {
+        return new Projection<>(type, metadata);
+    }
+
+    static boolean isCandidate(Class<?> type) {
+        return type.isRecord() || (type.isInterface() && !Iterable.class.isAssignableFrom(type)
+                && !Map.class.isAssignableFrom(type) && !type.getName().startsWith("java."));
+    }
+
+    Class<P> getType() {
+        return type;
+    }
+
+    String getSelectList() {
+        return selectList;
+    }
+
+    String getSelectAllSql() {
+        return selectAllSql;
+    }
+
+    String getSelectByIdSql() {
+        return selectByIdSql;
+    }
+
+    RowMapper<P> rowMapper(ResultSetMetaData rsMetaData) throws SQLException {
+        int[] indexes = new int[columns.size()];
+
+        for (int i = 1; i <= rsMetaData.getColumnCount(); i++) {
+            String label = rsMetaData.getColumnLabel(i);
+
+            for (int position = 0; position < indexes.length; position++) {
+                if (indexes[position] == 0 && columns.get(position).getColumnName().equalsIgnoreCase(label))
+                    indexes[position] = i;
+            }
+        }
+
+        return rs -> {
+            Object[] values = new Object[indexes.length];
+
+            for (int i = 0; i < indexes.length; i++) {
+                values[i] = indexes[i] > 0 ? readers[i].read(rs, indexes[i]) : defaults[i];
+            }
+
+            return newInstance(values);
+        };
+    }
+
+    private P newInstance(Object[] values) throws SQLException {
+        if (constructor == null)
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new Values(values)));
+
+        try {
+            return type.cast((Object) constructor.invokeExact(values));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SQLException("Unable to create " + type.getName(), e);
+        }
+    }
+
+    private static MethodHandle recordConstructor(Class<?> type, List<Class<?>> propertyTypes) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+
+            return lookup.findConstructor(type, MethodType.methodType(void.class, propertyTypes))
+                    .asSpreader(Object[].class, propertyTypes.size())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to access the canonical constructor of " + type.getName(), e);
+        }
+    }
+
+    private static List<String> candidates(Method method) {
+        String name = method.getName();
+        Class<?> returnType = method.getReturnType();
+
+        if (name.length() > 3 && name.startsWith("get") && Character.isUpperCase(name.charAt(3)))
+            return List.of(decapitalize(name.substring(3)));
+        if (name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))
+                && (returnType == boolean.class || returnType == Boolean.class))
+            return List.of(name, decapitalize(name.substring(2)));
+
+        return List.of(name);
+    }
+
+    private static ColumnMetadata column(Class<?> type, EntityMetadata<?> metadata, String accessor,
+                                         Class<?> propertyType, List<String> candidates) {
+        ColumnMetadata column = candidates.stream()
+                .map(metadata::findProperty)
+                .flatMap(Optional::stream)
+                .findFirst()
+                .orElseThrow(() -> invalid(type, "declares " + accessor + " but "
+                        + metadata.getModelClass().getSimpleName() + " has no such property"));
+
+        if (boxed(propertyType) != boxed(column.getType()))
+            throw invalid(type, "declares " + accessor + " as " + propertyType.getSimpleName() + " but "
+                    + metadata.getModelClass().getSimpleName() + "." + column.getFieldName() + " is "
+                    + column.getType().getSimpleName());
+
+        return column;
+    }
+
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static IllegalStateException invalid(Class<?> type, String problem) {
+        return new IllegalStateException("Projection " + type.getSimpleName() + " " + problem);
+    }
+
+    @FunctionalInterface
+    private interface ValueReader {
+        Object read(ResultSet rs, int index) throws SQLException;
+
+        static ValueReader forProperty(Class<?> type, ColumnMetadata column) {
+            if (type == int.class)
+                return ResultSet::getInt;
+            if (type == long.class)
+                return ResultSet::getLong;
+            if (type == boolean.class)
+                return ResultSet::getBoolean;
+            if (type == double.class)
+                return ResultSet::getDouble;
+            if (type == short.class)
+                return ResultSet::getShort;
+            if (type == float.class)
+                return ResultSet::getFloat;
+            if (type == String.class)
+                return ResultSet::getString;
+
+            return column::read;
+        }
+    }
+
+    private final class Values implements InvocationHandler {
+        private final Object[] values;
+
+        private Values(Object[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Integer index = accessors.get(method);
+
+            if (index != null)
+                return values[index];
+            if (method.isDefault())
+                return InvocationHandler.invokeDefault(proxy, method, args);
+
+            return switch (method.getName()) {
+                case "equals" -> args[0] != null && Proxy.isProxyClass(args[0].getClass())
+                        && Proxy.getInvocationHandler(args[0]) instanceof Projection<?>.Values other
+                        && other.projection() == Projection.this
+                        && Arrays.equals(values, other.values);
+                case "hashCode" -> Arrays.hashCode(values);
+                default -> toString(values);
+            };
+        }
+
+        private Projection<P> projection() {
+            return Projection.this;
+        }
+
+        private String toString(Object[] values) {
+            StringJoiner joiner = new StringJoiner(", ", type.getSimpleName() + "[", "]");
+
+            for (int i = 0; i < values.length; i++) {
+                joiner.add(propertyNames.get(i) + "=" + values[i]);
+            }
+
+            return joiner.toString();
+        }
+    }
+}
@@ -0,0 +1,537 @@
+package org.example.data.core;
+
+import org.example.data.core.annotation.Query;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+final class QueryMethod<T> {
+    private static final Pattern DERIVED = Pattern.compile("^(find|read|get|query|stream|count|exists)(\\p{Lu}\\w*?)??By(\\w*)$");
+    private static final Pattern LIMIT = Pattern.compile("(?:First|Top)(\\d*)");
+    private static final Pattern ORDER = Pattern.compile("(\\p{Lu}\\w*?)(Asc|Desc)(?=\\p{Lu}|$)");
+    private static final Pattern READ_ONLY = Pattern.compile("^\\s*select\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LOCKING = Pattern.compile("\\bfor\\s+(no\\s+key\\s+)?(update|share|key\\s+share)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private final Method method;
+    private final String sql;
+    private final Result result;
+    private final Projection<?> projection;
+    private final Placeholder[] placeholders;
+    private final StatementKey key;
+    private final boolean modifying;
+    private final boolean throwsSqlException;
+
+    private QueryMethod(Method method, EntityMetadata<T> metadata, String sql, Result result,
+                        Projection<?> projection, List<Placeholder> placeholders) {
+        this.method = method;
+        this.sql = sql;
+        this.result = result;
+        this.projection = projection;
+        this.placeholders = placeholders.toArray(Placeholder[]::new);
+        this.modifying = !READ_ONLY.matcher(sql).find();
+        this.key = new StatementKey(metadata.getModelClass(),
+                !modifying && !LOCKING.matcher(sql).find() ? Operation.QUERY : Operation.CUSTOM, sql);
+        this.throwsSqlException = Arrays.asList(method.getExceptionTypes()).contains(SQLException.class);
+
+        if (method.getParameterCount() != placeholders.stream().mapToInt(p -> p.argument).distinct().count())
+            throw invalid("declares " + method.getParameterCount() + " parameters but the query binds "
+                    + placeholders.size());
+    }
+
+    static <T> QueryMethod<T> of(Method method, EntityMetadata<T> metadata) {
+        Query query = method.getAnnotation(Query.class);
+
+        return query != null
+                ? declared(method, metadata, query.value())
+                : derived(method, metadata);
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    boolean throwsSqlException() {
+        return throwsSqlException;
+    }
+
+    Object execute(JdbcRepository<T, ?> repository, Object[] args) throws SQLException {
+        if (!modifying)
+            return query(repository, args);
+
+        try {
+            return query(repository, args);
+        } finally {
+            repository.clearCache();
+        }
+    }
+
+    private Object query(JdbcRepository<T, ?> repository, Object[] args) throws SQLException {
+        List<Array> arrays = new ArrayList<>();
+        StatementBinder binder = stmt -> bind(stmt, args, arrays);
+
+        if (result == Result.STREAM) {
+            try {
+                Stream<?> rows = projection != null
+                        ? repository.stream(key.operation(), method.getName(), sql, binder, projection)
+                        : repository.stream(key.operation(), method.getName(), sql, binder);
+
+                return rows.onClose(() -> free(arrays));
+            } catch (SQLException | RuntimeException e) {
+                free(arrays);
+                throw e;
+            }
+        }
+
+        try {
+            return query(repository, binder);
+        } finally {
+            free(arrays);
+        }
+    }
+
+    private Object query(JdbcRepository<T, ?> repository, StatementBinder binder) throws SQLException {
+        return switch (result) {
+            case STREAM -> throw new IllegalStateException("Streams are opened by the caller");
+            case LIST, OPTIONAL, SINGLE -> {
+                List<?> entities = repository.<List<?>>execute(key, method.getName(), sql, stmt -> {
+                    binder.bind(stmt);
+
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        return projection != null ? repository.mapAll(rs, projection) : repository.mapAll(rs);
+                    }
+                });
+
+                if (result != Result.LIST && entities.size() > 1)
+                    throw new SQLException(method.getName() + " expected at most one result but found "
+                            + entities.size());
+
+                if (projection == null) {
+                    @SuppressWarnings("unchecked")
+                    List<T> loaded = (List<T>) entities;
+                    repository.loadRelations(loaded);
+                }
+
+                if (result == Result.LIST)
+                    yield entities;
+
+                Optional<?> entity = entities.stream().findFirst();
+                yield result == Result.OPTIONAL ? entity : entity.orElse(null);
+            }
+            case EXISTS -> repository.execute(key, method.getName(), sql, stmt -> {
+                binder.bind(stmt);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next();
+                }
+            });
+            case BOOLEAN -> repository.execute(key, method.getName(), sql, stmt -> {
+                binder.bind(stmt);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() && rs.getBoolean(1);
+                }
+            });
+            case LONG, INT, VOID -> {
+                long value = repository.execute(key, method.getName(), sql, stmt -> {
+                    binder.bind(stmt);
+
+                    if (!stmt.execute())
+                        return (long) stmt.getUpdateCount();
+
+                    try (ResultSet rs = stmt.getResultSet()) {
+                        return rs.next() ? rs.getLong(1) : 0L;
+                    }
+                });
+
+                if (result == Result.VOID)
+                    yield null;
+
+                yield result == Result.LONG ? (Object) value : (Object) Math.toIntExact(value);
+            }
+        };
+    }
+
+    private void bind(PreparedStatement stmt, Object[] args, List<Array> arrays) throws SQLException {
+        for (int i = 0; i < placeholders.length; i++) {
+            Placeholder placeholder = placeholders[i];
+            Object value = args[placeholder.argument];
+
+            if (placeholder.binding == Binding.VALUE && placeholder.column != null && placeholder.column.accepts(value))
+                placeholder.column.bind(stmt, i + 1, value);
+            else
+                placeholder.binding.bind(stmt, i + 1, value, placeholder.sqlType, arrays);
+        }
+    }
+
+    private static Object[] elements(Object value) {
+        if (value instanceof Collection<?> collection)
+            return collection.toArray();
+        if (value instanceof Object[] array)
+            return array;
+
+        Object[] elements = new Object[java.lang.reflect.Array.getLength(value)];
+
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = java.lang.reflect.Array.get(value, i);
+        }
+
+        return elements;
+    }
+
+    private static void free(List<Array> arrays) {
+        for (Array array : arrays) {
+            try {
+                array.free();
+            } catch (SQLException ignored) {
+            }
+        }
+
+        arrays.clear();
+    }
+
+    private static <T> QueryMethod<T> declared(Method method, EntityMetadata<T> metadata, String sql) {
+        List<Placeholder> placeholders = new ArrayList<>();
+        boolean quoted = false;
+
+        for (char c : sql.toCharArray()) {
+            if (c == '\'')
+                quoted = !quoted;
+            else if (c == '?' && !quoted)
+                placeholders.add(new Placeholder(placeholders.size(), Binding.VALUE, null, null));
+        }
+
+        Result result = resultOf(method, metadata, null);
+        return new QueryMethod<>(method, metadata, sql, result, projectionOf(method, metadata, result), placeholders);
+    }
+
+    private static <T> QueryMethod<T> derived(Method method, EntityMetadata<T> metadata) {
+        Matcher matcher = DERIVED.matcher(method.getName());
+
+        if (!matcher.matches())
+            throw new IllegalStateException("Cannot derive a query from " + describe(method)
+                    + ": use find/count/exists...By or annotate it with @Query");
+
+        String verb = matcher.group(1);
+        String subject = Objects.requireNonNullElse(matcher.group(2), "");
+        String criteria = matcher.group(3);
+        String ordering = "";
+
+        int orderBy = criteria.indexOf("OrderBy");
+
+        if (orderBy >= 0) {
+            ordering = criteria.substring(orderBy + "OrderBy".length());
+            criteria = criteria.substring(0, orderBy);
+        }
+
+        Result result = resultOf(method, metadata, verb);
+        Projection<?> projection = projectionOf(method, metadata, result);
+        List<Placeholder> placeholders = new ArrayList<>();
+        String where = where(method, metadata, criteria, placeholders);
+
+        StringBuilder sql = new StringBuilder();
+
+        switch (result) {
+            case LONG, INT -> sql.append("SELECT COUNT(*) FROM ");
+            case EXISTS -> sql.append("SELECT 1 FROM ");
+            default -> sql.append(subject.contains("Distinct") ? "SELECT DISTINCT " : "SELECT ")
+                    .append(projection != null ? projection.getSelectList() : "*")
+                    .append(" FROM ");
+        }
+
+        sql.append(metadata.getTableName()).append(where);
+
+        if (!ordering.isEmpty())
+            sql.append(orderBy(method, metadata, ordering));
+
+        Matcher limit = LIMIT.matcher(subject);
+
+        if (result == Result.EXISTS)
+            sql.append(" LIMIT 1");
+        else if (limit.find())
+            sql.append(" LIMIT ").append(limit.group(1).isEmpty() ? "1" : limit.group(1));
+        else if (result == Result.OPTIONAL || result == Result.SINGLE)
+            sql.append(" LIMIT 2");
+
+        return new QueryMethod<>(method, metadata, sql.toString(), result, projection, placeholders);
+    }
+
+    private static String where(Method method, EntityMetadata<?> metadata, String criteria,
+                                List<Placeholder> placeholders) {
+        if (criteria.isEmpty())
+            return "";
+
+        List<String> alternatives = new ArrayList<>();
+        String[] groups = criteria.split("(?<=\\p{Ll}|\\d)Or(?=\\p{Lu})");
+
+        for (String group : groups) {
+            List<String> conditions = new ArrayList<>();
+
+            for (String part : group.split("(?<=\\p{Ll}|\\d)And(?=\\p{Lu})")) {
+                conditions.add(condition(method, metadata, part, placeholders));
+            }
+
+            String conjunction = String.join(" AND ", conditions);
+            alternatives.add(groups.length > 1 && conditions.size() > 1 ? "(" + conjunction + ")" : conjunction);
+        }
+
+        return " WHERE " + String.join(" OR ", alternatives);
+    }
+
+    private static String condition(Method method, EntityMetadata<?> metadata, String part,
+                                    List<Placeholder> placeholders) {
+        boolean ignoreCase = false;
+
+        for (String suffix : List.of("IgnoringCase", "IgnoreCase")) {
+            if (part.endsWith(suffix)) {
+                part = part.substring(0, part.length() - suffix.length());
+                ignoreCase = true;
+                break;
+            }
+        }
+
+        for (Keyword keyword : Keyword.BY_LENGTH) {
+            if (!part.endsWith(keyword.text) || part.length() == keyword.text.length())
+                continue;
+
+            Optional<ColumnMetadata> column = property(metadata, part.substring(0, part.length() - keyword.text.length()));
+
+            if (column.isPresent())
+                return keyword.operator.render(method, column.get(), ignoreCase, placeholders);
+        }
+
+        String property = part;
+        ColumnMetadata column = property(metadata, property)
+                .orElseThrow(() -> invalid(method, "refers to unknown property " + property));
+
+        return Operator.EQUALS.render(method, column, ignoreCase, placeholders);
+    }
+
+    private static String orderBy(Method method, EntityMetadata<?> metadata, String ordering) {
+        StringJoiner orders = new StringJoiner(", ", " ORDER BY ", "");
+        Matcher matcher = ORDER.matcher(ordering);
+        int end = 0;
+
+        while (matcher.find(end) && matcher.start() == end) {
+            orders.add(sortColumn(method, metadata, matcher.group(1)) + ("Desc".equals(matcher.group(2)) ? " DESC" : " ASC"));
+            end = matcher.end();
+        }
+
+        if (end < ordering.length())
+            orders.add(sortColumn(method, metadata, ordering.substring(end)) + " ASC");
+
+        return orders.toString();
+    }
+
+    private static String sortColumn(Method method, EntityMetadata<?> metadata, String property) {
+        return property(metadata, property)
+                .orElseThrow(() -> invalid(method, "orders by unknown property " + property))
+                .getColumnName();
+    }
+
+    private static Optional<ColumnMetadata> property(EntityMetadata<?> metadata, String property) {
+        return metadata.getColumns().stream()
+                .filter(column -> column.getFieldName().equalsIgnoreCase(property))
+                .findFirst();
+    }
+
+    private static Result resultOf(Method method, EntityMetadata<?> metadata, String verb) {
+        Class<?> type = method.getReturnType();
+        boolean bool = type == boolean.class || type == Boolean.class;
+
+        if ("count".equals(verb))
+            return numericResult(method);
+
+        if ("exists".equals(verb)) {
+            if (bool)
+                return Result.EXISTS;
+
+            throw invalid(method, "must return boolean");
+        }
+
+        if (verb == null && !isEntityResult(method, metadata)) {
+            if (bool)
+                return Result.BOOLEAN;
+            if (type == void.class)
+                return Result.VOID;
+
+            return numericResult(method);
+        }
+
+        if (type == List.class || type == Collection.class || type == Iterable.class)
+            return elementResult(method, metadata, Result.LIST);
+        if (type == Optional.class)
+            return elementResult(method, metadata, Result.OPTIONAL);
+        if (type == Stream.class)
+            return elementResult(method, metadata, Result.STREAM);
+        if (type == metadata.getModelClass() || Projection.isCandidate(type))
+            return Result.SINGLE;
+
+        throw invalid(method, "must return " + metadata.getModelClass().getSimpleName()
+                + ", a projection of it, or Optional, List or Stream of either");
+    }
+
+    private static Result numericResult(Method method) {
+        Class<?> type = method.getReturnType();
+
+        if (type == long.class || type == Long.class)
+            return Result.LONG;
+        if (type == int.class || type == Integer.class)
+            return Result.INT;
+
+        throw invalid(method, "must return long or int");
+    }
+
+    private static boolean isEntityResult(Method method, EntityMetadata<?> metadata) {
+        Class<?> type = method.getReturnType();
+
+        return type == List.class || type == Collection.class || type == Iterable.class
+                || type == Optional.class || type == Stream.class || type == metadata.getModelClass()
+                || Projection.isCandidate(type);
+    }
+
+    private static Result elementResult(Method method, EntityMetadata<?> metadata, Result result) {
+        Type returnType = method.getGenericReturnType();
+
+        if (returnType instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> element
+                && (element == metadata.getModelClass() || Projection.isCandidate(element)))
+            return result;
+
+        throw invalid(method, "must be parameterized with " + metadata.getModelClass().getSimpleName()
+                + " or a projection of it");
+    }
+
+    private static Projection<?> projectionOf(Method method, EntityMetadata<?> metadata, Result result) {
+        Class<?> type = switch (result) {
+            case LIST, OPTIONAL, STREAM ->
+                    (Class<?>) ((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[0];
+            case SINGLE -> method.getReturnType();
+            default -> metadata.getModelClass();
+        };
+
+        return type == metadata.getModelClass() ? null : metadata.getProjection(type);
+    }
+
+    private IllegalStateException invalid(String problem) {
+        return invalid(method, problem);
+    }
+
+    private static IllegalStateException invalid(Method method, String problem) {
+        return new IllegalStateException("Query method " + describe(method) + " " + problem);
+    }
+
+    private static String describe(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    private static String escapeLike(Object value) {
+        return value.toString()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    private enum Result {
+        LIST, OPTIONAL, SINGLE, STREAM, LONG, INT, EXISTS, BOOLEAN, VOID
+    }
+
+    private record Placeholder(int argument, Binding binding, String sqlType, ColumnMetadata column) {
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+        void bind(PreparedStatement stmt, int index, Object value, String sqlType, List<Array> arrays)
+                throws SQLException;
+    }
+
+    private enum Binding {
+        VALUE((stmt, index, value, sqlType, arrays) -> stmt.setObject(index, value)),
+        STARTING((stmt, index, value, sqlType, arrays) -> stmt.setString(index, escapeLike(value) + "%")),
+        ENDING((stmt, index, value, sqlType, arrays) -> stmt.setString(index, "%" + escapeLike(value))),
+        CONTAINING((stmt, index, value, sqlType, arrays) -> stmt.setString(index, "%" + escapeLike(value) + "%")),
+        ARRAY((stmt, index, value, sqlType, arrays) -> {
+            Array array = stmt.getConnection().createArrayOf(sqlType, elements(value));
+            arrays.add(array);
+            stmt.setArray(index, array);
+        });
+
+        private final Binder binder;
+
+        Binding(Binder binder) {
+            this.binder = binder;
+        }
+
+        void bind(PreparedStatement stmt, int index, Object value, String sqlType, List<Array> arrays)
+                throws SQLException {
+            binder.bind(stmt, index, value, sqlType, arrays);
+        }
+    }
+
+    private enum Operator {
+        EQUALS("{c} = ?", 1, Binding.VALUE, "Is", "Equals"),
+        NOT("{c} <> ?", 1, Binding.VALUE, "IsNot", "Not"),
+        IS_NULL("{c} IS NULL", 0, Binding.VALUE, "IsNull", "Null"),
+        IS_NOT_NULL("{c} IS NOT NULL", 0, Binding.VALUE, "IsNotNull", "NotNull"),
+        TRUE("{c} IS TRUE", 0, Binding.VALUE, "IsTrue", "True"),
+        FALSE("{c} IS FALSE", 0, Binding.VALUE, "IsFalse", "False"),
+        IN("{c} = ANY(?)", 1, Binding.ARRAY, "IsIn", "In"),
+        NOT_IN("NOT ({c} = ANY(?))", 1, Binding.ARRAY, "IsNotIn", "NotIn"),
+        BETWEEN("{c} BETWEEN ? AND ?", 2, Binding.VALUE, "IsBetween", "Between"),
+        LESS_THAN("{c} < ?", 1, Binding.VALUE, "IsLessThan", "LessThan", "IsBefore", "Before"),
+        LESS_THAN_EQUAL("{c} <= ?", 1, Binding.VALUE, "IsLessThanEqual", "LessThanEqual"),
+        GREATER_THAN("{c} > ?", 1, Binding.VALUE, "IsGreaterThan", "GreaterThan", "IsAfter", "After"),
+        GREATER_THAN_EQUAL("{c} >= ?", 1, Binding.VALUE, "IsGreaterThanEqual", "GreaterThanEqual"),
+        LIKE("{c} LIKE ?", 1, Binding.VALUE, "IsLike", "Like"),
+        NOT_LIKE("{c} NOT LIKE ?", 1, Binding.VALUE, "IsNotLike", "NotLike"),
+        STARTING_WITH("{c} LIKE ?", 1, Binding.STARTING, "IsStartingWith", "StartingWith", "StartsWith"),
+        ENDING_WITH("{c} LIKE ?", 1, Binding.ENDING, "IsEndingWith", "EndingWith", "EndsWith"),
+        CONTAINING("{c} LIKE ?", 1, Binding.CONTAINING, "IsContaining", "Containing", "Contains"),
+        NOT_CONTAINING("{c} NOT LIKE ?", 1, Binding.CONTAINING, "IsNotContaining", "NotContaining", "NotContains"),
+        MATCHES("{c} ~ ?", 1, Binding.VALUE, "Matches", "MatchesRegex");
+
+        private final String template;
+        private final int arity;
+        private final Binding binding;
+        private final String[] keywords;
+
+        Operator(String template, int arity, Binding binding, String... keywords) {
+            this.template = template;
+            this.arity = arity;
+            this.binding = binding;
+            this.keywords = keywords;
+        }
+
+        String render(Method method, ColumnMetadata column, boolean ignoreCase, List<Placeholder> placeholders) {
+            String sqlType = binding == Binding.ARRAY ? EntityMetadata.sqlTypeOf(column.getType()) : null;
+
+            if (ignoreCase && (binding == Binding.ARRAY || arity == 0))
+                throw invalid(method, "cannot ignore case for " + name());
+
+            int argument = placeholders.isEmpty() ? 0 : placeholders.get(placeholders.size() - 1).argument + 1;
+
+            for (int i = 0; i < arity; i++) {
+                placeholders.add(new Placeholder(argument + i, binding, sqlType, column));
+            }
+
+            String sql = template.replace("{c}", ignoreCase ? "lower(" + column.getColumnName() + ")" : column.getColumnName());
+            return ignoreCase ? sql.replace("?", "lower(?)") : sql;
+        }
+    }
+
+    private record Keyword(String text, Operator operator) {
+        private static final List<Keyword> BY_LENGTH = Arrays.stream(Operator.values())
+                .flatMap(operator -> Arrays.stream(operator.keywords).map(text -> new Keyword(text, operator)))
+                .sorted(Comparator.comparingInt((Keyword keyword) -> keyword.text.length()).reversed())
+                .toList();
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.data.core;
+
+import org.example.data.core.metrics.QueryEvent;
+
+final class QueryTrace {
+    private static final ThreadLocal<QueryTrace> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+    private final QueryTrace previous;
+    private final boolean bound;
+
+    private long prepareNanos;
+    private long mappingNanos;
+    private long rows;
+
+    private QueryTrace(QueryTrace previous, boolean bound) {
+        this.previous = previous;
+        this.bound = bound;
+    }
+
+    static QueryTrace current() {
+        return CURRENT.get();
+    }
+
+    static QueryTrace begin() {
+        QueryTrace trace = new QueryTrace(CURRENT.get(), true);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static QueryTrace detached() {
+        return new QueryTrace(null, false);
+    }
+
+    void prepared(long startedAt) {
+        prepareNanos += System.nanoTime() - startedAt;
+    }
+
+    <T> RowMapper<T> timed(RowMapper<T> rowMapper) {
+        return rs -> {
+            long started = System.nanoTime();
+            T row = rowMapper.mapRow(rs);
+
+            mappingNanos += System.nanoTime() - started;
+            rows++;
+            return row;
+        };
+    }
+
+    QueryEvent end(Class<?> entity, Operation operation, String name, String sql, Object result,
+                   Throwable failure) {
+        long elapsed = System.nanoTime() - startedAt;
+
+        if (bound) {
+            if (previous != null)
+                CURRENT.set(previous);
+            else
+                CURRENT.remove();
+        }
+
+        long affected = rows;
+
+        if (affected == 0 && isWrite(operation) && result instanceof Number count)
+            affected = count.longValue();
+
+        return new QueryEvent(entity, operation, name, sql, affected, elapsed, prepareNanos, mappingNanos, failure);
+    }
+
+    private static boolean isWrite(Operation operation) {
+        return operation == Operation.INSERT || operation == Operation.UPSERT
+                || operation == Operation.UPDATE || operation == Operation.DELETE;
+    }
+}
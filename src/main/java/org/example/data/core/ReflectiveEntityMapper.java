@@ -0,0 +1,103 @@
+package org.example.data.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+final class ReflectiveEntityMapper<T> implements EntityMapper<T> {
+    private final Class<T> modelClass;
+    private final List<ColumnMetadata> columns;
+    private final List<ColumnMetadata> updatableColumns;
+    private final ColumnMetadata idColumn;
+    private final ColumnMetadata versionColumn;
+    private final ColumnReader[] readers;
+    private final MethodHandle constructor;
+
+    ReflectiveEntityMapper(Class<T> modelClass, List<ColumnMetadata> columns, ColumnMetadata idColumn,
+                           MethodHandle constructor) {
+        this.modelClass = modelClass;
+        this.columns = columns;
+        this.updatableColumns = columns.stream().filter(column -> !column.isId() && !column.isVersion()).toList();
+        this.idColumn = idColumn;
+        this.versionColumn = columns.stream().filter(ColumnMetadata::isVersion).findFirst().orElse(null);
+        this.readers = columns.stream().map(ColumnMetadata::getReader).toArray(ColumnReader[]::new);
+        this.constructor = constructor;
+    }
+
+    @Override
+    public List<String> getColumnNames() {
+        return columns.stream().map(ColumnMetadata::getColumnName).toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T newInstance() throws ReflectiveOperationException {
+        try {
+            return (T) constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    @Override
+    public Object getId(T entity) {
+        return idColumn.get(entity);
+    }
+
+    @Override
+    public T copy(T entity) throws ReflectiveOperationException {
+        T copy = newInstance();
+
+        for (ColumnMetadata column : columns) {
+            column.set(copy, column.get(entity));
+        }
+
+        return copy;
+    }
+
+    @Override
+    public T mapRow(ResultSet rs, int[] indexes) throws SQLException {
+        T instance;
+
+        try {
+            instance = newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new SQLException("Unable to instantiate " + modelClass.getName(), e);
+        }
+
+        for (int i = 0; i < readers.length; i++) {
+            if (indexes[i] > 0)
+                readers[i].read(rs, indexes[i], instance);
+        }
+
+        return instance;
+    }
+
+    @Override
+    public void bindInsert(PreparedStatement stmt, T entity) throws SQLException {
+        int index = 1;
+
+        for (ColumnMetadata column : columns) {
+            column.bind(stmt, index++, column.get(entity));
+        }
+    }
+
+    @Override
+    public void bindUpdate(PreparedStatement stmt, T entity) throws SQLException {
+        int index = 1;
+
+        for (ColumnMetadata column : updatableColumns) {
+            column.bind(stmt, index++, column.get(entity));
+        }
+
+        idColumn.bind(stmt, index++, idColumn.get(entity));
+
+        if (versionColumn != null)
+            versionColumn.bind(stmt, index, versionColumn.get(entity));
+    }
+}
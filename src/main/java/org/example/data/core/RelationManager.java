@@ -0,0 +1,241 @@
+package org.example.data.core;
+
+import org.example.data.core.annotation.FetchType;
+import org.example.data.core.cache.EntityCache;
+import org.example.data.core.cache.EntityCaches;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+final class RelationManager<T> {
+    private final EntityMetadata<T> metadata;
+    private final Class<?> ownerIdType;
+
+    RelationManager(EntityMetadata<T> metadata) {
+        this.metadata = metadata;
+        this.ownerIdType = boxed(metadata.getIdColumn().getType());
+    }
+
+    boolean hasRelations() {
+        return !metadata.getRelations().isEmpty();
+    }
+
+    void attach(Collection<T> owners, ConnectionCallbackRunner runner, int batchSize) throws SQLException {
+        attach(owners, runner, runner, batchSize);
+    }
+
+    void attachLazy(Collection<T> owners, ConnectionCallbackRunner runner, int batchSize) throws SQLException {
+        attach(owners, null, runner, batchSize);
+    }
+
+    void attach(Collection<T> owners, ConnectionCallbackRunner eagerRunner, ConnectionCallbackRunner lazyRunner,
+                int batchSize) throws SQLException {
+        if (owners.isEmpty())
+            return;
+
+        List<Object> ownerIds = owners.stream().map(metadata::getId).toList();
+
+        for (RelationMetadata relation : metadata.getRelations()) {
+            if (relation.getFetch() == FetchType.EAGER) {
+                if (eagerRunner == null)
+                    continue;
+
+                Map<Object, List<Object>> loaded = eagerRunner.run(
+                        connection -> load(connection, relation, ownerIds, batchSize));
+
+                for (T owner : owners) {
+                    relation.set(owner, loaded.getOrDefault(metadata.getId(owner), new ArrayList<>()));
+                }
+            } else {
+                LazyBatch batch = new LazyBatch(relation, ownerIds, lazyRunner, batchSize);
+
+                for (T owner : owners) {
+                    Object ownerId = metadata.getId(owner);
+                    relation.set(owner, new LazyList<>(() -> batch.get(ownerId)));
+                }
+            }
+        }
+    }
+
+    T copyAggregate(T owner) throws ReflectiveOperationException {
+        T copy = metadata.copy(owner);
+
+        for (RelationMetadata relation : metadata.getRelations()) {
+            List<?> targets = relation.getFetch() == FetchType.EAGER ? relation.get(owner) : null;
+
+            if (targets == null)
+                continue;
+
+            @SuppressWarnings("unchecked")
+            EntityMetadata<Object> target = (EntityMetadata<Object>) relation.getTargetMetadata();
+            List<Object> copies = new ArrayList<>(targets.size());
+
+            for (Object linked : targets) {
+                copies.add(target.copy(linked));
+            }
+
+            relation.set(copy, copies);
+        }
+
+        return copy;
+    }
+
+    static void clearOwnerCaches(Class<?> targetClass) {
+        for (EntityMetadata<?> owner : EntityMetadata.loaded()) {
+            EntityCache cache = EntityCaches.forModel(owner.getModelClass());
+
+            if (cache == null)
+                continue;
+
+            for (RelationMetadata relation : owner.getRelations()) {
+                if (relation.getFetch() == FetchType.EAGER && relation.getTargetClass() == targetClass) {
+                    cache.clear();
+                    break;
+                }
+            }
+        }
+    }
+
+    void write(Connection connection, Collection<T> owners, int batchSize) throws SQLException {
+        for (RelationMetadata relation : metadata.getRelations()) {
+            List<T> changed = owners.stream()
+                    .filter(owner -> isWritable(relation.get(owner)))
+                    .toList();
+
+            if (changed.isEmpty())
+                continue;
+
+            deleteLinks(connection, relation, changed.stream().map(metadata::getId).toList(), batchSize);
+
+            @SuppressWarnings("unchecked")
+            EntityMetadata<Object> target = (EntityMetadata<Object>) relation.getTargetMetadata();
+
+            try (PreparedStatement stmt = connection.prepareStatement(relation.getInsertLinkSql())) {
+                int pending = 0;
+
+                for (T owner : changed) {
+                    Object ownerId = metadata.getId(owner);
+
+                    for (Object linked : relation.get(owner)) {
+                        Object targetId = target.getId(linked);
+
+                        if (targetId == null)
+                            throw new SQLException("Entity in " + relation.getFieldName()
+                                    + " must be saved before its association is written");
+
+                        metadata.getIdColumn().bind(stmt, 1, ownerId);
+                        target.getIdColumn().bind(stmt, 2, targetId);
+                        stmt.addBatch();
+
+                        if (++pending == batchSize) {
+                            stmt.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                }
+
+                if (pending > 0)
+                    stmt.executeBatch();
+            }
+        }
+    }
+
+    void delete(Connection connection, List<Object> ownerIds, int batchSize) throws SQLException {
+        for (RelationMetadata relation : metadata.getRelations()) {
+            deleteLinks(connection, relation, ownerIds, batchSize);
+        }
+    }
+
+    private void deleteLinks(Connection connection, RelationMetadata relation, List<Object> ownerIds, int batchSize)
+            throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(relation.getDeleteLinksSql())) {
+            for (int from = 0; from < ownerIds.size(); from += batchSize) {
+                List<Object> chunk = ownerIds.subList(from, Math.min(from + batchSize, ownerIds.size()));
+                Array array = connection.createArrayOf(metadata.getIdSqlType(), chunk.toArray());
+
+                try {
+                    stmt.setArray(1, array);
+                    stmt.executeUpdate();
+                } finally {
+                    array.free();
+                }
+            }
+        }
+    }
+
+    private Map<Object, List<Object>> load(Connection connection, RelationMetadata relation,
+                                           List<Object> ownerIds, int batchSize) throws SQLException {
+        Map<Object, List<Object>> loaded = new HashMap<>();
+
+        try (PreparedStatement stmt = connection.prepareStatement(relation.getLoadSql())) {
+            for (int from = 0; from < ownerIds.size(); from += batchSize) {
+                List<Object> chunk = ownerIds.subList(from, Math.min(from + batchSize, ownerIds.size()));
+                Array array = connection.createArrayOf(metadata.getIdSqlType(), chunk.toArray());
+
+                try {
+                    stmt.setArray(1, array);
+
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        RowMapper<?> mapper = EntityRowMapper.bind(relation.getTargetMetadata(), rs.getMetaData());
+                        int ownerIndex = rs.findColumn(RelationMetadata.OWNER_ID_LABEL);
+
+                        while (rs.next()) {
+                            loaded.computeIfAbsent(rs.getObject(ownerIndex, ownerIdType), id -> new ArrayList<>())
+                                    .add(mapper.mapRow(rs));
+                        }
+                    }
+                } finally {
+                    array.free();
+                }
+            }
+        }
+
+        return loaded;
+    }
+
+    private static boolean isWritable(List<?> value) {
+        return value != null && !(value instanceof LazyList<?> lazy && !lazy.isLoaded());
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (type == int.class)
+            return Integer.class;
+        if (type == long.class)
+            return Long.class;
+        if (type == short.class)
+            return Short.class;
+
+        return type;
+    }
+
+    @FunctionalInterface
+    interface ConnectionCallbackRunner {
+        Map<Object, List<Object>> run(ConnectionCallback<Map<Object, List<Object>>> callback) throws SQLException;
+    }
+
+    private final class LazyBatch {
+        private final RelationMetadata relation;
+        private final List<Object> ownerIds;
+        private final ConnectionCallbackRunner runner;
+        private final int batchSize;
+        private Map<Object, List<Object>> loaded;
+
+        private LazyBatch(RelationMetadata relation, List<Object> ownerIds, ConnectionCallbackRunner runner, int batchSize) {
+            this.relation = relation;
+            this.ownerIds = ownerIds;
+            this.runner = runner;
+            this.batchSize = batchSize;
+        }
+
+        private synchronized List<Object> get(Object ownerId) throws SQLException {
+            if (loaded == null)
+                loaded = runner.run(connection -> load(connection, relation, ownerIds, batchSize));
+
+            return new ArrayList<>(loaded.getOrDefault(ownerId, List.of()));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.data.core;
+
+import lombok.Getter;
+import org.example.data.core.annotation.FetchType;
+import org.example.data.core.annotation.ManyToMany;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.util.List;
+
+@Getter
+public final class RelationMetadata {
+    public static final String OWNER_ID_LABEL = "__owner_id";
+
+    private final String fieldName;
+    private final Class<?> targetClass;
+    private final String joinTable;
+    private final String joinColumn;
+    private final String inverseJoinColumn;
+    private final FetchType fetch;
+
+    private final String deleteLinksSql;
+    private final String deleteLinkSql;
+    private final String insertLinkSql;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final MethodHandle getter;
+    @Getter(lombok.AccessLevel.NONE)
+    private final MethodHandle setter;
+    @Getter(lombok.AccessLevel.NONE)
+    private volatile String loadSql;
+
+    RelationMetadata(Field field, MethodHandles.Lookup lookup) throws IllegalAccessException {
+        ManyToMany manyToMany = field.getAnnotation(ManyToMany.class);
+
+        if (field.getType() != List.class || !(field.getGenericType() instanceof ParameterizedType listType))
+            throw new IllegalStateException("@ManyToMany field " + field.getName() + " must be a List<T>");
+
+        this.fieldName = field.getName();
+        this.targetClass = (Class<?>) listType.getActualTypeArguments()[0];
+        this.joinTable = manyToMany.joinTable();
+        this.joinColumn = manyToMany.joinColumn();
+        this.inverseJoinColumn = manyToMany.inverseJoinColumn();
+        this.fetch = manyToMany.fetch();
+
+        this.deleteLinksSql = "DELETE FROM " + joinTable + " WHERE " + joinColumn + " = ANY(?)";
+        this.deleteLinkSql = "DELETE FROM " + joinTable + " WHERE " + joinColumn + " = ? AND " + inverseJoinColumn + " = ?";
+        this.insertLinkSql = "INSERT INTO " + joinTable + " (" + joinColumn + ", " + inverseJoinColumn
+                + ") VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+        this.getter = lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+        this.setter = lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class));
+    }
+
+    public EntityMetadata<?> getTargetMetadata() {
+        return EntityMetadata.of(targetClass);
+    }
+
+    public String getLoadSql() {
+        if (loadSql == null) {
+            EntityMetadata<?> target = getTargetMetadata();
+
+            loadSql = "SELECT j." + joinColumn + " AS " + OWNER_ID_LABEL + ", t.* FROM " + target.getTableName()
+                    + " t JOIN " + joinTable + " j ON t." + target.getIdColumn().getColumnName()
+                    + " = j." + inverseJoinColumn + " WHERE j." + joinColumn + " = ANY(?)";
+        }
+
+        return loadSql;
+    }
+
+    public List<?> get(Object owner) {
+        try {
+            return (List<?>) (Object) getter.invokeExact(owner);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to read relation " + fieldName, e);
+        }
+    }
+
+    public void set(Object owner, List<?> value) {
+        try {
+            setter.invokeExact(owner, (Object) value);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to write relation " + fieldName, e);
+        }
+    }
+}
@@ -0,0 +1,723 @@
+package org.example.data.core;
+
+import org.example.data.core.cache.EntityCache;
+import org.example.data.core.cache.EntityCaches;
+import org.example.data.core.tx.TransactionTemplate;
+import org.example.data.core.tx.Transactions;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+public class Session implements AutoCloseable {
+    private final DataSource dataSource;
+
+    private final Map<EntityKey, Managed> identityMap = new LinkedHashMap<>();
+    private final Set<Object> inserts = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Object> insertOrder = new ArrayList<>();
+    private final Map<EntityKey, Object> removals = new LinkedHashMap<>();
+    private final Map<Class<?>, RelationManager<?>> relationManagers = new HashMap<>();
+
+    private int batchSize = JdbcRepository.DEFAULT_BATCH_SIZE;
+    private boolean closed;
+
+    public record FlushResult(int inserted, int updated, int deleted, int linksInserted, int linksDeleted,
+                              int roundTrips) {
+    }
+
+    public Session(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public <T> Optional<T> find(Class<T> type, Object id) throws SQLException {
+        return findAllById(type, List.of(id)).stream().findFirst();
+    }
+
+    public <T> List<T> findAllById(Class<T> type, Collection<?> ids) throws SQLException {
+        checkOpen();
+
+        EntityMetadata<T> metadata = EntityMetadata.of(type);
+        Map<Object, T> found = new HashMap<>();
+        List<Object> missing = new ArrayList<>();
+
+        for (Object id : new LinkedHashSet<>(ids)) {
+            Managed managed = identityMap.get(new EntityKey(type, id));
+
+            if (managed != null)
+                found.put(id, type.cast(managed.entity));
+            else if (!removals.containsKey(new EntityKey(type, id)))
+                missing.add(id);
+        }
+
+        if (!missing.isEmpty()) {
+            List<T> loaded = withConnection(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(metadata.getSelectByIdsSql())) {
+                    Array array = connection.createArrayOf(metadata.getIdSqlType(), missing.toArray());
+
+                    try {
+                        stmt.setArray(1, array);
+
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            RowMapper<T> mapper = EntityRowMapper.bind(metadata, rs.getMetaData());
+                            List<T> rows = new ArrayList<>();
+
+                            while (rs.next()) {
+                                rows.add(mapper.mapRow(rs));
+                            }
+
+                            return rows;
+                        }
+                    } finally {
+                        array.free();
+                    }
+                }
+            });
+
+            relations(metadata).attach(loaded, this::withConnection, batchSize);
+
+            for (T entity : loaded) {
+                manage(metadata, entity);
+                found.put(metadata.getId(entity), entity);
+            }
+        }
+
+        List<T> result = new ArrayList<>();
+
+        for (Object id : ids) {
+            T entity = found.get(id);
+
+            if (entity != null)
+                result.add(entity);
+        }
+
+        return result;
+    }
+
+    public <T> T attach(T entity) {
+        checkOpen();
+
+        @SuppressWarnings("unchecked")
+        EntityMetadata<T> metadata = (EntityMetadata<T>) EntityMetadata.of(entity.getClass());
+        Managed managed = identityMap.get(keyOf(metadata, entity));
+
+        if (managed != null && managed.entity != entity)
+            throw new IllegalStateException("Another instance of " + metadata.getModelClass().getSimpleName()
+                    + " with id " + metadata.getId(entity) + " is already attached");
+
+        if (managed == null)
+            manage(metadata, entity);
+
+        return entity;
+    }
+
+    public void persist(Object entity) {
+        checkOpen();
+
+        if (isManaged(entity))
+            return;
+
+        if (inserts.add(entity))
+            insertOrder.add(entity);
+    }
+
+    public void remove(Object entity) {
+        checkOpen();
+
+        if (inserts.remove(entity)) {
+            insertOrder.remove(entity);
+            return;
+        }
+
+        EntityMetadata<?> metadata = EntityMetadata.of(entity.getClass());
+        EntityKey key = keyOf(metadata, entity);
+
+        identityMap.remove(key);
+        removals.put(key, entity);
+    }
+
+    public void detach(Object entity) {
+        if (inserts.remove(entity)) {
+            insertOrder.remove(entity);
+            return;
+        }
+
+        EntityKey key = keyOf(EntityMetadata.of(entity.getClass()), entity);
+        Managed managed = identityMap.get(key);
+
+        if (managed != null && managed.entity == entity)
+            identityMap.remove(key);
+    }
+
+    public boolean isManaged(Object entity) {
+        EntityMetadata<?> metadata = EntityMetadata.of(entity.getClass());
+        Object id = idOf(metadata, entity);
+
+        if (id == null)
+            return false;
+
+        Managed managed = identityMap.get(new EntityKey(entity.getClass(), id));
+        return managed != null && managed.entity == entity;
+    }
+
+    public boolean isDirty() {
+        if (!inserts.isEmpty() || !removals.isEmpty())
+            return true;
+
+        for (Managed managed : identityMap.values()) {
+            if (!managed.changedColumns().isEmpty() || managed.hasRelationChanges())
+                return true;
+        }
+
+        return false;
+    }
+
+    public void clear() {
+        identityMap.clear();
+        inserts.clear();
+        insertOrder.clear();
+        removals.clear();
+    }
+
+    public FlushResult commit() throws SQLException {
+        checkOpen();
+
+        Flush flush = new Flush();
+
+        try {
+            new TransactionTemplate(dataSource).inTransaction(status -> {
+                flush.execute(status.getConnection());
+
+                Transactions.afterRollback(dataSource, flush::revert);
+                flush.complete();
+                return null;
+            });
+        } catch (OptimisticLockException e) {
+            throw e;
+        } catch (SQLException e) {
+            throw new SQLException("Error flushing session", e);
+        }
+
+        return flush.result();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be positive");
+
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void close() {
+        clear();
+        closed = true;
+    }
+
+    private <T> void manage(EntityMetadata<T> metadata, T entity) {
+        identityMap.put(keyOf(metadata, entity), new Managed(metadata, entity));
+    }
+
+    private <R> R withConnection(ConnectionCallback<R> callback) throws SQLException {
+        try (Connection connection = Transactions.getConnection(dataSource)) {
+            return callback.doInConnection(connection);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> RelationManager<T> relations(EntityMetadata<T> metadata) {
+        return (RelationManager<T>) relationManagers.computeIfAbsent(metadata.getModelClass(),
+                type -> new RelationManager<>(metadata));
+    }
+
+    private void checkOpen() {
+        if (closed)
+            throw new IllegalStateException("Session is closed");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object idOf(EntityMetadata<?> metadata, Object entity) {
+        return ((EntityMetadata<Object>) metadata).getId(entity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object versionOf(EntityMetadata<?> metadata, Object entity) {
+        return ((EntityMetadata<Object>) metadata).getVersion(entity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void incrementVersion(EntityMetadata<?> metadata, Object entity) {
+        ((EntityMetadata<Object>) metadata).incrementVersion(entity);
+    }
+
+    private static EntityKey keyOf(EntityMetadata<?> metadata, Object entity) {
+        Object id = idOf(metadata, entity);
+
+        if (id == null)
+            throw new IllegalArgumentException(metadata.getModelClass().getSimpleName() + " has no id");
+
+        return new EntityKey(metadata.getModelClass(), id);
+    }
+
+    private static Set<Object> targetIds(RelationMetadata relation, List<?> targets) {
+        EntityMetadata<?> target = relation.getTargetMetadata();
+        Set<Object> ids = new LinkedHashSet<>();
+
+        for (Object linked : targets) {
+            Object id = idOf(target, linked);
+
+            if (id == null)
+                throw new IllegalStateException("Entity in " + relation.getFieldName()
+                        + " must have an id before its association is written");
+
+            ids.add(id);
+        }
+
+        return ids;
+    }
+
+    private static boolean isReadable(List<?> value) {
+        return value != null && !(value instanceof LazyList<?> lazy && !lazy.isLoaded());
+    }
+
+    private record EntityKey(Class<?> type, Object id) {
+    }
+
+    private record Snapshot(Object[] values, Map<RelationMetadata, Set<Object>> links) {
+    }
+
+    private static final class Managed {
+        private final EntityMetadata<?> metadata;
+        private final Object entity;
+        private Object[] snapshot;
+        private Map<RelationMetadata, Set<Object>> links;
+
+        private Managed(EntityMetadata<?> metadata, Object entity) {
+            this.metadata = metadata;
+            this.entity = entity;
+            takeSnapshot();
+        }
+
+        private Snapshot snapshot() {
+            return new Snapshot(snapshot, links);
+        }
+
+        private void restore(Snapshot previous) {
+            snapshot = previous.values();
+            links = previous.links();
+        }
+
+        private void takeSnapshot() {
+            List<ColumnMetadata> columns = metadata.getColumns();
+            snapshot = new Object[columns.size()];
+
+            for (int i = 0; i < snapshot.length; i++) {
+                snapshot[i] = copyValue(columns.get(i).get(entity));
+            }
+
+            links = new HashMap<>();
+
+            for (RelationMetadata relation : metadata.getRelations()) {
+                List<?> value = relation.get(entity);
+
+                if (value instanceof LazyList<?> lazy && !lazy.isLoaded())
+                    continue;
+
+                links.put(relation, value == null ? Set.of() : targetIds(relation, value));
+            }
+        }
+
+        private List<ColumnMetadata> changedColumns() {
+            List<ColumnMetadata> columns = metadata.getColumns();
+            List<ColumnMetadata> changed = new ArrayList<>();
+
+            for (int i = 0; i < snapshot.length; i++) {
+                ColumnMetadata column = columns.get(i);
+
+                if (!column.isId() && !column.isVersion() && !Objects.deepEquals(snapshot[i], column.get(entity)))
+                    changed.add(column);
+            }
+
+            return changed;
+        }
+
+        private boolean hasRelationChanges() {
+            for (RelationMetadata relation : metadata.getRelations()) {
+                List<?> value = relation.get(entity);
+
+                if (!isReadable(value))
+                    continue;
+
+                Set<Object> before = links.get(relation);
+
+                if (before == null || !before.equals(targetIds(relation, value)))
+                    return true;
+            }
+
+            return false;
+        }
+
+        private static Object copyValue(Object value) {
+            if (value instanceof Object[] array)
+                return array.clone();
+            if (value instanceof byte[] bytes)
+                return bytes.clone();
+
+            return value;
+        }
+    }
+
+    private final class Flush {
+        private final Map<EntityMetadata<?>, List<Object>> inserted = new LinkedHashMap<>();
+        private final Map<EntityMetadata<?>, Map<List<ColumnMetadata>, List<Object>>> updated = new LinkedHashMap<>();
+        private final Map<RelationMetadata, List<Object[]>> linkInserts = new LinkedHashMap<>();
+        private final Map<RelationMetadata, List<Object[]>> linkDeletes = new LinkedHashMap<>();
+        private final Map<RelationMetadata, List<Object>> linkRewrites = new LinkedHashMap<>();
+        private final Map<RelationMetadata, EntityMetadata<?>> owners = new HashMap<>();
+        private final Map<EntityMetadata<?>, List<Object>> deleted = new LinkedHashMap<>();
+        private final Set<Object> relinked = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private final List<Object> flushedInserts = new ArrayList<>(insertOrder);
+        private final Map<EntityKey, Object> flushedRemovals = new LinkedHashMap<>(removals);
+        private final Map<Managed, Snapshot> previousSnapshots = new IdentityHashMap<>();
+        private final Map<Object, Object> previousVersions = new IdentityHashMap<>();
+
+        private int rowsInserted;
+        private int rowsUpdated;
+        private int rowsDeleted;
+        private int linksInserted;
+        private int linksDeleted;
+        private int roundTrips;
+
+        private Flush() {
+            for (Object entity : insertOrder) {
+                EntityMetadata<?> metadata = EntityMetadata.of(entity.getClass());
+
+                keyOf(metadata, entity);
+                inserted.computeIfAbsent(metadata, m -> new ArrayList<>()).add(entity);
+
+                for (RelationMetadata relation : metadata.getRelations()) {
+                    List<?> value = relation.get(entity);
+
+                    if (isReadable(value))
+                        addLinks(relation, idOf(metadata, entity), targetIds(relation, value));
+                }
+            }
+
+            for (Managed managed : identityMap.values()) {
+                List<ColumnMetadata> changed = managed.changedColumns();
+
+                if (!changed.isEmpty()) {
+                    updated.computeIfAbsent(managed.metadata, m -> new LinkedHashMap<>())
+                            .computeIfAbsent(changed, c -> new ArrayList<>())
+                            .add(managed.entity);
+                }
+
+                Object ownerId = idOf(managed.metadata, managed.entity);
+
+                for (RelationMetadata relation : managed.metadata.getRelations()) {
+                    List<?> value = relation.get(managed.entity);
+
+                    if (!isReadable(value))
+                        continue;
+
+                    Set<Object> before = managed.links.get(relation);
+                    Set<Object> after = targetIds(relation, value);
+
+                    if (!after.equals(before))
+                        relinked.add(managed.entity);
+
+                    owners.put(relation, managed.metadata);
+
+                    if (before == null) {
+                        linkRewrites.computeIfAbsent(relation, r -> new ArrayList<>()).add(ownerId);
+                        addLinks(relation, ownerId, after);
+                        continue;
+                    }
+
+                    for (Object targetId : before) {
+                        if (!after.contains(targetId))
+                            linkDeletes.computeIfAbsent(relation, r -> new ArrayList<>())
+                                    .add(new Object[]{ownerId, targetId});
+                    }
+
+                    Set<Object> added = new LinkedHashSet<>(after);
+                    added.removeAll(before);
+                    addLinks(relation, ownerId, added);
+                }
+            }
+
+            for (Map.Entry<EntityKey, Object> removal : removals.entrySet()) {
+                EntityMetadata<?> metadata = EntityMetadata.of(removal.getKey().type());
+                deleted.computeIfAbsent(metadata, m -> new ArrayList<>()).add(removal.getValue());
+            }
+        }
+
+        private void addLinks(RelationMetadata relation, Object ownerId, Collection<Object> targetIds) {
+            if (targetIds.isEmpty())
+                return;
+
+            List<Object[]> links = linkInserts.computeIfAbsent(relation, r -> new ArrayList<>());
+
+            for (Object targetId : targetIds) {
+                links.add(new Object[]{ownerId, targetId});
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void execute(Connection connection) throws SQLException {
+            for (Map.Entry<EntityMetadata<?>, List<Object>> entry : inserted.entrySet()) {
+                EntityMapper<Object> mapper = (EntityMapper<Object>) entry.getKey().getMapper();
+
+                rowsInserted += batch(connection, entry.getKey().getInsertSql(), entry.getValue(),
+                        (stmt, entity) -> mapper.bindInsert(stmt, entity));
+            }
+
+            for (Map.Entry<EntityMetadata<?>, Map<List<ColumnMetadata>, List<Object>>> table : updated.entrySet()) {
+                EntityMetadata<Object> metadata = (EntityMetadata<Object>) table.getKey();
+
+                for (Map.Entry<List<ColumnMetadata>, List<Object>> group : table.getValue().entrySet()) {
+                    List<ColumnMetadata> columns = group.getKey();
+
+                    rowsUpdated += batch(connection, metadata.getUpdateSql(columns), group.getValue(), (stmt, entity) -> {
+                        int index = 1;
+
+                        for (ColumnMetadata column : columns) {
+                            column.bind(stmt, index++, column.get(entity));
+                        }
+
+                        metadata.getIdColumn().bind(stmt, index++, metadata.getId(entity));
+
+                        if (metadata.isVersioned())
+                            metadata.getVersionColumn().bind(stmt, index, metadata.getVersion(entity));
+                    }, conflictCheck(metadata));
+                }
+            }
+
+            for (Map.Entry<RelationMetadata, List<Object>> entry : linkRewrites.entrySet()) {
+                String idSqlType = owners.get(entry.getKey()).getIdSqlType();
+                linksDeleted += deleteByIds(connection, entry.getKey().getDeleteLinksSql(), idSqlType, entry.getValue());
+            }
+
+            for (Map.Entry<RelationMetadata, List<Object[]>> entry : linkDeletes.entrySet()) {
+                RelationMetadata relation = entry.getKey();
+                linksDeleted += batch(connection, relation.getDeleteLinkSql(), entry.getValue(),
+                        (stmt, link) -> bindLink(stmt, relation, link));
+            }
+
+            for (Map.Entry<RelationMetadata, List<Object[]>> entry : linkInserts.entrySet()) {
+                RelationMetadata relation = entry.getKey();
+                linksInserted += batch(connection, relation.getInsertLinkSql(), entry.getValue(),
+                        (stmt, link) -> bindLink(stmt, relation, link));
+            }
+
+            for (Map.Entry<EntityMetadata<?>, List<Object>> entry : deleted.entrySet()) {
+                EntityMetadata<Object> metadata = (EntityMetadata<Object>) entry.getKey();
+                List<Object> ids = entry.getValue().stream().map(metadata::getId).toList();
+
+                if (metadata.isVersioned()) {
+                    rowsDeleted += batch(connection, metadata.getDeleteByIdAndVersionSql(), entry.getValue(),
+                            (stmt, entity) -> {
+                                metadata.getIdColumn().bind(stmt, 1, metadata.getId(entity));
+                                metadata.getVersionColumn().bind(stmt, 2, metadata.getVersion(entity));
+                            }, conflictCheck(metadata));
+                }
+
+                for (RelationMetadata relation : metadata.getRelations()) {
+                    linksDeleted += deleteByIds(connection, relation.getDeleteLinksSql(), metadata.getIdSqlType(), ids);
+                }
+
+                if (!metadata.isVersioned())
+                    rowsDeleted += deleteByIds(connection, metadata.getDeleteByIdsSql(), metadata.getIdSqlType(), ids);
+            }
+        }
+
+        private static RowCheck<Object> conflictCheck(EntityMetadata<Object> metadata) {
+            if (!metadata.isVersioned())
+                return null;
+
+            return entity -> {
+                throw new OptimisticLockException(metadata.getModelClass(), metadata.getId(entity),
+                        metadata.getVersion(entity));
+            };
+        }
+
+        private int deleteByIds(Connection connection, String sql, String idSqlType, List<Object> ids)
+                throws SQLException {
+            int affected = 0;
+
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                for (int from = 0; from < ids.size(); from += batchSize) {
+                    List<Object> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                    Array array = connection.createArrayOf(idSqlType, chunk.toArray());
+
+                    try {
+                        stmt.setArray(1, array);
+                        affected += stmt.executeUpdate();
+                        roundTrips++;
+                    } finally {
+                        array.free();
+                    }
+                }
+            }
+
+            return affected;
+        }
+
+        private <E> int batch(Connection connection, String sql, List<E> rows, RowBinder<E> binder)
+                throws SQLException {
+            return batch(connection, sql, rows, binder, null);
+        }
+
+        private <E> int batch(Connection connection, String sql, List<E> rows, RowBinder<E> binder,
+                              RowCheck<E> check) throws SQLException {
+            int affected = 0;
+            int pending = 0;
+            int position = 0;
+
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                for (E row : rows) {
+                    binder.bind(stmt, row);
+                    stmt.addBatch();
+
+                    if (++pending == batchSize) {
+                        affected += checked(stmt.executeBatch(), rows, position, check);
+                        roundTrips++;
+                        position += pending;
+                        pending = 0;
+                    }
+                }
+
+                if (pending > 0) {
+                    affected += checked(stmt.executeBatch(), rows, position, check);
+                    roundTrips++;
+                }
+            }
+
+            return affected;
+        }
+
+        private static <E> int checked(int[] counts, List<E> rows, int position, RowCheck<E> check)
+                throws SQLException {
+            if (check != null) {
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0)
+                        check.missing(rows.get(position + i));
+                }
+            }
+
+            return JdbcRepository.countAffected(counts);
+        }
+
+        private void bindLink(PreparedStatement stmt, RelationMetadata relation, Object[] link) throws SQLException {
+            owners.get(relation).getIdColumn().bind(stmt, 1, link[0]);
+            relation.getTargetMetadata().getIdColumn().bind(stmt, 2, link[1]);
+        }
+
+        private void complete() {
+            for (Managed managed : identityMap.values()) {
+                previousSnapshots.put(managed, managed.snapshot());
+            }
+
+            for (Object entity : flushedInserts) {
+                EntityMetadata<?> metadata = EntityMetadata.of(entity.getClass());
+                identityMap.put(keyOf(metadata, entity), new Managed(metadata, entity));
+                inserts.remove(entity);
+                evict(metadata, idOf(metadata, entity));
+            }
+
+            for (Map<List<ColumnMetadata>, List<Object>> groups : updated.values()) {
+                for (List<Object> entities : groups.values()) {
+                    for (Object entity : entities) {
+                        EntityMetadata<?> metadata = EntityMetadata.of(entity.getClass());
+
+                        if (metadata.isVersioned())
+                            previousVersions.put(entity, versionOf(metadata, entity));
+
+                        incrementVersion(metadata, entity);
+                        evict(metadata, idOf(metadata, entity));
+                    }
+                }
+            }
+
+            for (Object entity : relinked) {
+                EntityMetadata<?> metadata = EntityMetadata.of(entity.getClass());
+                evict(metadata, idOf(metadata, entity));
+            }
+
+            for (Managed managed : identityMap.values()) {
+                managed.takeSnapshot();
+            }
+
+            for (EntityKey key : flushedRemovals.keySet()) {
+                removals.remove(key);
+                evict(EntityMetadata.of(key.type()), key.id());
+            }
+
+            insertOrder.removeIf(entity -> !inserts.contains(entity));
+        }
+
+        private void revert() {
+            previousVersions.forEach((entity, version) ->
+                    EntityMetadata.of(entity.getClass()).getVersionColumn().set(entity, version));
+            previousSnapshots.forEach(Managed::restore);
+
+            List<Object> pending = new ArrayList<>(insertOrder);
+            insertOrder.clear();
+
+            for (Object entity : flushedInserts) {
+                EntityMetadata<?> metadata = EntityMetadata.of(entity.getClass());
+                EntityKey key = keyOf(metadata, entity);
+                Managed managed = identityMap.get(key);
+
+                if (managed != null && managed.entity == entity)
+                    identityMap.remove(key);
+
+                if (inserts.add(entity))
+                    insertOrder.add(entity);
+            }
+
+            insertOrder.addAll(pending);
+
+            flushedRemovals.forEach((key, entity) -> {
+                if (!identityMap.containsKey(key))
+                    removals.putIfAbsent(key, entity);
+            });
+        }
+
+        private void evict(EntityMetadata<?> metadata, Object id) {
+            Class<?> modelClass = metadata.getModelClass();
+            EntityCache cache = EntityCaches.forModel(modelClass);
+
+            RelationManager.clearOwnerCaches(modelClass);
+            Transactions.afterCompletion(dataSource, () -> RelationManager.clearOwnerCaches(modelClass));
+
+            if (cache == null)
+                return;
+
+            cache.evict(id);
+            Transactions.afterCompletion(dataSource, () -> cache.evict(id));
+        }
+
+        private FlushResult result() {
+            return new FlushResult(rowsInserted, rowsUpdated, rowsDeleted, linksInserted, linksDeleted, roundTrips);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowBinder<E> {
+        void bind(PreparedStatement stmt, E row) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowCheck<E> {
+        void missing(E row) throws SQLException;
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.data.core;
+
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface SqlCallable<R> {
+    R call() throws SQLException;
+}
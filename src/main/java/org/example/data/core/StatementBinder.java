@@ -0,0 +1,12 @@
+package org.example.data.core;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface StatementBinder {
+    StatementBinder NONE = stmt -> {
+    };
+
+    void bind(PreparedStatement stmt) throws SQLException;
+}
@@ -0,0 +1,9 @@
+package org.example.data.core;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface StatementCallback<R> {
+    R doInStatement(PreparedStatement stmt) throws SQLException;
+}
@@ -0,0 +1,7 @@
+package org.example.data.core;
+
+public record StatementKey(Class<?> modelClass, Operation operation, String sql) {
+    public StatementKey(Class<?> modelClass, Operation operation) {
+        this(modelClass, operation, null);
+    }
+}
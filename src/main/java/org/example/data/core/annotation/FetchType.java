@@ -0,0 +1,6 @@
+package org.example.data.core.annotation;
+
+public enum FetchType {
+    LAZY,
+    EAGER
+}
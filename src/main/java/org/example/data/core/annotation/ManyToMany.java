@@ -0,0 +1,18 @@
+package org.example.data.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface ManyToMany {
+    String joinTable();
+
+    String joinColumn();
+
+    String inverseJoinColumn();
+
+    FetchType fetch() default FetchType.LAZY;
+}
@@ -9,4 +9,10 @@ import java.lang.annotation.Target;
 @Target(ElementType.TYPE)
 public @interface Model {
     String value() default "";
+
+    boolean cacheable() default false;
+
+    int cacheSize() default 10_000;
+
+    long cacheTtlSeconds() default 300;
 }
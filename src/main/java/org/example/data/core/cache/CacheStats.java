@@ -0,0 +1,8 @@
+package org.example.data.core.cache;
+
+public record CacheStats(long hits, long misses, long evictions, long expirations, long size) {
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
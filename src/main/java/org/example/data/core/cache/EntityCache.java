@@ -0,0 +1,17 @@
+package org.example.data.core.cache;
+
+public interface EntityCache {
+    Object get(Object id);
+
+    void put(Object id, Object entity);
+
+    long generation(Object id);
+
+    boolean putIfCurrent(Object id, Object entity, long generation);
+
+    void evict(Object id);
+
+    void clear();
+
+    CacheStats getStats();
+}
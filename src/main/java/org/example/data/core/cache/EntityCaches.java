@@ -0,0 +1,90 @@
+package org.example.data.core.cache;
+
+import org.example.data.core.annotation.Model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public final class EntityCaches {
+    private static final EntityCache NONE = new NoOpCache();
+
+    private static final Map<Class<?>, EntityCache> CACHES = new ConcurrentHashMap<>();
+    private static volatile Function<Class<?>, EntityCache> factory = EntityCaches::fromModelAnnotation;
+
+    private EntityCaches() {
+    }
+
+    public static EntityCache forModel(Class<?> modelClass) {
+        EntityCache cache = CACHES.computeIfAbsent(modelClass, type -> {
+            EntityCache created = factory.apply(type);
+            return created != null ? created : NONE;
+        });
+
+        return cache == NONE ? null : cache;
+    }
+
+    public static void register(Class<?> modelClass, EntityCache cache) {
+        CACHES.put(modelClass, cache != null ? cache : NONE);
+    }
+
+    public static void setFactory(Function<Class<?>, EntityCache> cacheFactory) {
+        factory = cacheFactory;
+        CACHES.clear();
+    }
+
+    public static Map<Class<?>, CacheStats> getStats() {
+        Map<Class<?>, CacheStats> stats = new ConcurrentHashMap<>();
+
+        CACHES.forEach((modelClass, cache) -> {
+            if (cache != NONE)
+                stats.put(modelClass, cache.getStats());
+        });
+
+        return stats;
+    }
+
+    private static EntityCache fromModelAnnotation(Class<?> modelClass) {
+        Model model = modelClass.getAnnotation(Model.class);
+
+        if (model == null || !model.cacheable())
+            return null;
+
+        return new LruEntityCache(model.cacheSize(), model.cacheTtlSeconds(), TimeUnit.SECONDS);
+    }
+
+    private static final class NoOpCache implements EntityCache {
+        @Override
+        public Object get(Object id) {
+            return null;
+        }
+
+        @Override
+        public void put(Object id, Object entity) {
+        }
+
+        @Override
+        public long generation(Object id) {
+            return 0;
+        }
+
+        @Override
+        public boolean putIfCurrent(Object id, Object entity, long generation) {
+            return false;
+        }
+
+        @Override
+        public void evict(Object id) {
+        }
+
+        @Override
+        public void clear() {
+        }
+
+        @Override
+        public CacheStats getStats() {
+            return new CacheStats(0, 0, 0, 0, 0);
+        }
+    }
+}
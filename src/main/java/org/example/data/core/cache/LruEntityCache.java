@@ -0,0 +1,154 @@
+package org.example.data.core.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LruEntityCache implements EntityCache {
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public LruEntityCache(int maxSize, long ttl, TimeUnit unit) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("Cache size must be positive");
+
+        int segmentSize = Math.max(1, (maxSize + SEGMENTS - 1) / SEGMENTS);
+
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentSize);
+        }
+
+        this.ttlNanos = ttl > 0 ? unit.toNanos(ttl) : Long.MAX_VALUE;
+    }
+
+    @Override
+    public Object get(Object id) {
+        Segment segment = segmentFor(id);
+        Entry entry;
+
+        synchronized (segment) {
+            entry = segment.get(id);
+
+            if (entry != null && entry.isExpired(System.nanoTime())) {
+                segment.remove(id);
+                expirations.increment();
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.value;
+    }
+
+    @Override
+    public void put(Object id, Object entity) {
+        long expiresAt = ttlNanos == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + ttlNanos;
+        Segment segment = segmentFor(id);
+
+        synchronized (segment) {
+            segment.put(id, new Entry(entity, expiresAt));
+        }
+    }
+
+    @Override
+    public long generation(Object id) {
+        Segment segment = segmentFor(id);
+
+        synchronized (segment) {
+            return segment.generation;
+        }
+    }
+
+    @Override
+    public boolean putIfCurrent(Object id, Object entity, long generation) {
+        long expiresAt = ttlNanos == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + ttlNanos;
+        Segment segment = segmentFor(id);
+
+        synchronized (segment) {
+            if (segment.generation != generation)
+                return false;
+
+            segment.put(id, new Entry(entity, expiresAt));
+            return true;
+        }
+    }
+
+    @Override
+    public void evict(Object id) {
+        Segment segment = segmentFor(id);
+
+        synchronized (segment) {
+            segment.remove(id);
+            segment.generation++;
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+                segment.generation++;
+            }
+        }
+    }
+
+    @Override
+    public CacheStats getStats() {
+        long size = 0;
+
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), size);
+    }
+
+    private Segment segmentFor(Object id) {
+        int hash = id.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private record Entry(Object value, long expiresAt) {
+        boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt > 0;
+        }
+    }
+
+    private final class Segment extends LinkedHashMap<Object, Entry> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        private long generation;
+
+        private Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+            if (size() <= maxSize)
+                return false;
+
+            evictions.increment();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.data.core.convert;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+final class ArrayConverter implements TypeConverter<Object> {
+    private final Class<?> containerType;
+    private final Class<?> elementType;
+    private final TypeConverter<Object> element;
+
+    ArrayConverter(Class<?> containerType, Class<?> elementType, TypeConverter<Object> element) {
+        this.containerType = containerType;
+        this.elementType = elementType;
+        this.element = element;
+    }
+
+    @Override
+    public String getSqlType() {
+        return "_" + element.getSqlType();
+    }
+
+    @Override
+    public void bind(PreparedStatement stmt, int index, Object value) throws SQLException {
+        if (value == null) {
+            stmt.setNull(index, Types.ARRAY);
+            return;
+        }
+
+        if (elementType.isEnum()) {
+            stmt.setObject(index, toText(value), Types.OTHER);
+            return;
+        }
+
+        Array array = stmt.getConnection().createArrayOf(element.getSqlType(), elements(value));
+
+        try {
+            stmt.setArray(index, array);
+        } finally {
+            array.free();
+        }
+    }
+
+    @Override
+    public Object read(ResultSet rs, int index) throws SQLException {
+        Array array = rs.getArray(index);
+
+        if (array == null)
+            return null;
+
+        List<Object> values = new ArrayList<>();
+
+        try (ResultSet elements = array.getResultSet()) {
+            while (elements.next()) {
+                values.add(element.read(elements, 2));
+            }
+        } finally {
+            array.free();
+        }
+
+        if (containerType == Set.class)
+            return new LinkedHashSet<>(values);
+        if (!containerType.isArray())
+            return values;
+
+        Object result = java.lang.reflect.Array.newInstance(elementType, values.size());
+
+        for (int i = 0; i < values.size(); i++) {
+            java.lang.reflect.Array.set(result, i, values.get(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public String toText(Object value) throws SQLException {
+        StringBuilder literal = new StringBuilder("{");
+
+        for (Object item : elements(value)) {
+            if (literal.length() > 1)
+                literal.append(',');
+
+            if (item == null) {
+                literal.append("NULL");
+            } else {
+                literal.append('"')
+                        .append(element.toText(item).replace("\\", "\\\\").replace("\"", "\\\""))
+                        .append('"');
+            }
+        }
+
+        return literal.append('}').toString();
+    }
+
+    private static Object[] elements(Object value) {
+        if (value instanceof Collection<?> collection)
+            return collection.toArray();
+        if (value instanceof Object[] array)
+            return array;
+
+        Object[] elements = new Object[java.lang.reflect.Array.getLength(value)];
+
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = java.lang.reflect.Array.get(value, i);
+        }
+
+        return elements;
+    }
+}
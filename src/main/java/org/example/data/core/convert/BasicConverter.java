@@ -0,0 +1,44 @@
+package org.example.data.core.convert;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+final class BasicConverter<J> implements TypeConverter<J> {
+    private final String sqlType;
+    private final int jdbcType;
+    private final Binder<J> binder;
+    private final Reader<J> reader;
+    private final Formatter<J> formatter;
+
+    BasicConverter(String sqlType, int jdbcType, Binder<J> binder, Reader<J> reader, Formatter<J> formatter) {
+        this.sqlType = sqlType;
+        this.jdbcType = jdbcType;
+        this.binder = binder;
+        this.reader = reader;
+        this.formatter = formatter;
+    }
+
+    @Override
+    public String getSqlType() {
+        return sqlType;
+    }
+
+    @Override
+    public void bind(PreparedStatement stmt, int index, J value) throws SQLException {
+        if (value == null)
+            stmt.setNull(index, jdbcType);
+        else
+            binder.bind(stmt, index, value);
+    }
+
+    @Override
+    public J read(ResultSet rs, int index) throws SQLException {
+        return reader.read(rs, index);
+    }
+
+    @Override
+    public String toText(J value) throws SQLException {
+        return formatter.format(value);
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.data.core.convert;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.lang.reflect.Type;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+final class JsonConverter implements TypeConverter<Object> {
+    private static final Gson GSON = new Gson();
+
+    private final Type type;
+    private final String sqlType;
+
+    JsonConverter(Type type, boolean binary) {
+        this.type = type;
+        this.sqlType = binary ? "jsonb" : "json";
+    }
+
+    @Override
+    public String getSqlType() {
+        return sqlType;
+    }
+
+    @Override
+    public void bind(PreparedStatement stmt, int index, Object value) throws SQLException {
+        if (value == null)
+            stmt.setNull(index, Types.OTHER);
+        else
+            stmt.setObject(index, GSON.toJson(value, type), Types.OTHER);
+    }
+
+    @Override
+    public Object read(ResultSet rs, int index) throws SQLException {
+        String json = rs.getString(index);
+
+        if (json == null)
+            return null;
+
+        try {
+            return GSON.fromJson(json, type);
+        } catch (JsonParseException e) {
+            throw new SQLException("Unable to read " + sqlType + " column as " + type.getTypeName(), e);
+        }
+    }
+
+    @Override
+    public String toText(Object value) {
+        return GSON.toJson(value, type);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.data.core.convert;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public interface TypeConverter<J> {
+    String getSqlType();
+
+    void bind(PreparedStatement stmt, int index, J value) throws SQLException;
+
+    J read(ResultSet rs, int index) throws SQLException;
+
+    String toText(J value) throws SQLException;
+
+    static <J> TypeConverter<J> of(String sqlType, int jdbcType, Binder<J> binder, Reader<J> reader) {
+        return of(sqlType, jdbcType, binder, reader, String::valueOf);
+    }
+
+    static <J> TypeConverter<J> of(String sqlType, int jdbcType, Binder<J> binder, Reader<J> reader,
+                                   Formatter<J> formatter) {
+        return new BasicConverter<>(sqlType, jdbcType, binder, reader, formatter);
+    }
+
+    @FunctionalInterface
+    interface Binder<J> {
+        void bind(PreparedStatement stmt, int index, J value) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface Reader<J> {
+        J read(ResultSet rs, int index) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface Formatter<J> {
+        String format(J value) throws SQLException;
+    }
+}
@@ -0,0 +1,197 @@
+package org.example.data.core.convert;
+
+import org.example.data.core.annotation.Json;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class TypeConverters {
+    private static final Map<Class<?>, TypeConverter<?>> CONVERTERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, TypeConverter<?>> FALLBACKS = new ConcurrentHashMap<>();
+
+    static {
+        TypeConverter<Boolean> booleans = TypeConverter.of("bool", Types.BOOLEAN,
+                (stmt, index, value) -> stmt.setBoolean(index, value),
+                (rs, index) -> {
+                    boolean value = rs.getBoolean(index);
+                    return rs.wasNull() ? null : value;
+                });
+        TypeConverter<Short> shorts = TypeConverter.of("int2", Types.SMALLINT,
+                (stmt, index, value) -> stmt.setShort(index, value),
+                (rs, index) -> {
+                    short value = rs.getShort(index);
+                    return rs.wasNull() ? null : value;
+                });
+        TypeConverter<Integer> integers = TypeConverter.of("int4", Types.INTEGER,
+                (stmt, index, value) -> stmt.setInt(index, value),
+                (rs, index) -> {
+                    int value = rs.getInt(index);
+                    return rs.wasNull() ? null : value;
+                });
+        TypeConverter<Long> longs = TypeConverter.of("int8", Types.BIGINT,
+                (stmt, index, value) -> stmt.setLong(index, value),
+                (rs, index) -> {
+                    long value = rs.getLong(index);
+                    return rs.wasNull() ? null : value;
+                });
+        TypeConverter<Float> floats = TypeConverter.of("float4", Types.REAL,
+                (stmt, index, value) -> stmt.setFloat(index, value),
+                (rs, index) -> {
+                    float value = rs.getFloat(index);
+                    return rs.wasNull() ? null : value;
+                });
+        TypeConverter<Double> doubles = TypeConverter.of("float8", Types.DOUBLE,
+                (stmt, index, value) -> stmt.setDouble(index, value),
+                (rs, index) -> {
+                    double value = rs.getDouble(index);
+                    return rs.wasNull() ? null : value;
+                });
+
+        register(boolean.class, booleans);
+        register(Boolean.class, booleans);
+        register(short.class, shorts);
+        register(Short.class, shorts);
+        register(int.class, integers);
+        register(Integer.class, integers);
+        register(long.class, longs);
+        register(Long.class, longs);
+        register(float.class, floats);
+        register(Float.class, floats);
+        register(double.class, doubles);
+        register(Double.class, doubles);
+
+        register(String.class, TypeConverter.of("text", Types.VARCHAR,
+                (stmt, index, value) -> stmt.setString(index, value), ResultSet::getString));
+        register(BigDecimal.class, TypeConverter.of("numeric", Types.NUMERIC,
+                (stmt, index, value) -> stmt.setBigDecimal(index, value), ResultSet::getBigDecimal,
+                BigDecimal::toPlainString));
+        register(byte[].class, TypeConverter.of("bytea", Types.BINARY,
+                (stmt, index, value) -> stmt.setBytes(index, value), ResultSet::getBytes,
+                value -> "\\x" + HexFormat.of().formatHex(value)));
+        register(UUID.class, TypeConverter.of("uuid", Types.OTHER,
+                (stmt, index, value) -> stmt.setObject(index, value, Types.OTHER),
+                (rs, index) -> rs.getObject(index, UUID.class)));
+
+        register(LocalDate.class, TypeConverter.of("date", Types.DATE,
+                (stmt, index, value) -> stmt.setObject(index, value, Types.DATE),
+                (rs, index) -> rs.getObject(index, LocalDate.class)));
+        register(LocalTime.class, TypeConverter.of("time", Types.TIME,
+                (stmt, index, value) -> stmt.setObject(index, value, Types.TIME),
+                (rs, index) -> rs.getObject(index, LocalTime.class)));
+        register(LocalDateTime.class, TypeConverter.of("timestamp", Types.TIMESTAMP,
+                (stmt, index, value) -> stmt.setObject(index, value, Types.TIMESTAMP),
+                (rs, index) -> rs.getObject(index, LocalDateTime.class)));
+        register(OffsetDateTime.class, TypeConverter.of("timestamptz", Types.TIMESTAMP_WITH_TIMEZONE,
+                (stmt, index, value) -> stmt.setObject(index, value, Types.TIMESTAMP_WITH_TIMEZONE),
+                (rs, index) -> rs.getObject(index, OffsetDateTime.class)));
+        register(Instant.class, TypeConverter.of("timestamptz", Types.TIMESTAMP_WITH_TIMEZONE,
+                (stmt, index, value) -> stmt.setObject(index, value.atOffset(ZoneOffset.UTC),
+                        Types.TIMESTAMP_WITH_TIMEZONE),
+                (rs, index) -> {
+                    OffsetDateTime value = rs.getObject(index, OffsetDateTime.class);
+                    return value == null ? null : value.toInstant();
+                },
+                value -> value.atOffset(ZoneOffset.UTC).toString()));
+    }
+
+    private TypeConverters() {
+    }
+
+    public static <J> void register(Class<J> type, TypeConverter<J> converter) {
+        CONVERTERS.put(type, converter);
+    }
+
+    public static boolean isRegistered(Class<?> type) {
+        return CONVERTERS.containsKey(type) || type.isEnum()
+                || (type.isArray() && isRegistered(type.getComponentType()));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <J> TypeConverter<J> forType(Class<J> type) {
+        TypeConverter<?> converter = CONVERTERS.get(type);
+
+        if (converter != null)
+            return (TypeConverter<J>) converter;
+
+        if (type.isEnum())
+            converter = enumConverter((Class) type);
+        else if (type.isArray() && isRegistered(type.getComponentType()))
+            converter = new ArrayConverter(type, type.getComponentType(), erased(type.getComponentType()));
+        else
+            return (TypeConverter<J>) FALLBACKS.computeIfAbsent(type, TypeConverters::fallback);
+
+        TypeConverter<?> existing = CONVERTERS.putIfAbsent(type, converter);
+        return (TypeConverter<J>) (existing != null ? existing : converter);
+    }
+
+    public static TypeConverter<Object> forField(Field field) {
+        Json json = field.getAnnotation(Json.class);
+
+        if (json != null)
+            return new JsonConverter(field.getGenericType(), json.binary());
+
+        Class<?> type = field.getType();
+
+        if ((type == List.class || type == Set.class || type == Collection.class)
+                && field.getGenericType() instanceof ParameterizedType parameterized) {
+            Type elementType = parameterized.getActualTypeArguments()[0];
+
+            if (elementType instanceof Class<?> element && isRegistered(element))
+                return new ArrayConverter(type, element, erased(element));
+        }
+
+        return erased(type);
+    }
+
+    public static TypeConverter<Object> forField(Class<?> owner, String fieldName) {
+        try {
+            return forField(owner.getDeclaredField(fieldName));
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("No field " + fieldName + " in " + owner.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypeConverter<Object> erased(Class<?> type) {
+        return (TypeConverter<Object>) forType(type);
+    }
+
+    private static <E extends Enum<E>> TypeConverter<E> enumConverter(Class<E> type) {
+        return TypeConverter.of("text", Types.OTHER,
+                (stmt, index, value) -> stmt.setObject(index, value.name(), Types.OTHER),
+                (rs, index) -> {
+                    String name = rs.getString(index);
+                    return name == null ? null : Enum.valueOf(type, name);
+                },
+                Enum::name);
+    }
+
+    private static TypeConverter<?> fallback(Class<?> type) {
+        return TypeConverter.<Object>of("text", Types.OTHER,
+                (stmt, index, value) -> stmt.setObject(index, value),
+                type == Object.class
+                        ? ResultSet::getObject
+                        : (rs, index) -> rs.getObject(index, type),
+                value -> {
+                    throw new SQLException("No text encoding is registered for " + type.getName());
+                });
+    }
+}
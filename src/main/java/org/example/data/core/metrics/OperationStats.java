@@ -0,0 +1,30 @@
+package org.example.data.core.metrics;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@Builder
+@ToString
+public class OperationStats {
+    private final String entity;
+    private final String operation;
+    private final long count;
+    private final long errors;
+    private final long rows;
+    private final double meanMillis;
+    private final double p50Millis;
+    private final double p95Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+    private final double meanPrepareMillis;
+    private final double meanDatabaseMillis;
+    private final double p99DatabaseMillis;
+    private final double meanMappingMillis;
+    private final double p99MappingMillis;
+
+    public double getRowsPerQuery() {
+        return count == 0 ? 0 : (double) rows / count;
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.data.core.metrics;
+
+import org.example.data.core.Operation;
+
+public record QueryEvent(
+        Class<?> entity,
+        Operation operation,
+        String name,
+        String sql,
+        long rows,
+        long elapsedNanos,
+        long prepareNanos,
+        long mappingNanos,
+        Throwable failure) {
+
+    public long databaseNanos() {
+        return elapsedNanos - mappingNanos;
+    }
+
+    public double elapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+}
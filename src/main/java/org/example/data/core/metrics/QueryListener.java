@@ -0,0 +1,6 @@
+package org.example.data.core.metrics;
+
+@FunctionalInterface
+public interface QueryListener {
+    void onQuery(QueryEvent event);
+}
@@ -0,0 +1,49 @@
+package org.example.data.core.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public final class QueryListeners {
+    private static final Logger LOGGER = Logger.getLogger(QueryListeners.class.getName());
+
+    private static volatile QueryListener[] listeners = new QueryListener[0];
+
+    private QueryListeners() {
+    }
+
+    public static synchronized void add(QueryListener listener) {
+        QueryListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    public static synchronized void remove(QueryListener listener) {
+        listeners = Arrays.stream(listeners)
+                .filter(registered -> registered != listener)
+                .toArray(QueryListener[]::new);
+    }
+
+    public static synchronized void clear() {
+        listeners = new QueryListener[0];
+    }
+
+    public static List<QueryListener> getListeners() {
+        return List.of(listeners);
+    }
+
+    public static boolean isEnabled() {
+        return listeners.length > 0;
+    }
+
+    public static void publish(QueryEvent event) {
+        for (QueryListener listener : listeners) {
+            try {
+                listener.onQuery(event);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Query listener " + listener + " failed", e);
+            }
+        }
+    }
+}
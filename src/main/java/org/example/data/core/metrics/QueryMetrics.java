@@ -0,0 +1,115 @@
+package org.example.data.core.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class QueryMetrics implements QueryListener, QueryMetricsMXBean {
+    public static final String DEFAULT_OBJECT_NAME = "org.example.data:type=QueryMetrics";
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<Key, Stats> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public void onQuery(QueryEvent event) {
+        stats.computeIfAbsent(new Key(event.entity().getSimpleName(), event.name()), key -> new Stats())
+                .record(event);
+    }
+
+    @Override
+    public List<OperationStats> getOperations() {
+        return stats.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparing(OperationStats::getEntity).thenComparing(OperationStats::getOperation))
+                .toList();
+    }
+
+    public OperationStats getOperation(Class<?> entity, String operation) {
+        Key key = new Key(entity.getSimpleName(), operation);
+        Stats operationStats = stats.get(key);
+
+        return operationStats != null ? operationStats.snapshot(key) : null;
+    }
+
+    @Override
+    public long getTotalQueries() {
+        return stats.values().stream().mapToLong(operationStats -> operationStats.elapsed.getCount()).sum();
+    }
+
+    @Override
+    public long getTotalErrors() {
+        return stats.values().stream().mapToLong(operationStats -> operationStats.errors.sum()).sum();
+    }
+
+    @Override
+    public void reset() {
+        stats.clear();
+    }
+
+    public ObjectName registerMBean() throws JMException {
+        return registerMBean(DEFAULT_OBJECT_NAME);
+    }
+
+    public ObjectName registerMBean(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName(name);
+
+        if (server.isRegistered(objectName))
+            server.unregisterMBean(objectName);
+
+        server.registerMBean(this, objectName);
+        return objectName;
+    }
+
+    private record Key(String entity, String operation) {
+    }
+
+    private static final class Stats {
+        private final Histogram elapsed = new Histogram();
+        private final Histogram database = new Histogram();
+        private final Histogram mapping = new Histogram();
+        private final LongAdder prepareNanos = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private void record(QueryEvent event) {
+            elapsed.record(event.elapsedNanos());
+            database.record(event.databaseNanos());
+            mapping.record(event.mappingNanos());
+            prepareNanos.add(event.prepareNanos());
+            rows.add(event.rows());
+
+            if (event.isFailed())
+                errors.increment();
+        }
+
+        private OperationStats snapshot(Key key) {
+            long count = elapsed.getCount();
+
+            return OperationStats.builder()
+                    .entity(key.entity())
+                    .operation(key.operation())
+                    .count(count)
+                    .errors(errors.sum())
+                    .rows(rows.sum())
+                    .meanMillis(elapsed.getMean() / NANOS_PER_MILLI)
+                    .p50Millis(elapsed.getValueAtPercentile(50) / NANOS_PER_MILLI)
+                    .p95Millis(elapsed.getValueAtPercentile(95) / NANOS_PER_MILLI)
+                    .p99Millis(elapsed.getValueAtPercentile(99) / NANOS_PER_MILLI)
+                    .maxMillis(elapsed.getMax() / NANOS_PER_MILLI)
+                    .meanPrepareMillis(count == 0 ? 0 : prepareNanos.sum() / NANOS_PER_MILLI / count)
+                    .meanDatabaseMillis(database.getMean() / NANOS_PER_MILLI)
+                    .p99DatabaseMillis(database.getValueAtPercentile(99) / NANOS_PER_MILLI)
+                    .meanMappingMillis(mapping.getMean() / NANOS_PER_MILLI)
+                    .p99MappingMillis(mapping.getValueAtPercentile(99) / NANOS_PER_MILLI)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.data.core.metrics;
+
+import java.util.List;
+
+public interface QueryMetricsMXBean {
+    List<OperationStats> getOperations();
+
+    long getTotalQueries();
+
+    long getTotalErrors();
+
+    void reset();
+}
@@ -0,0 +1,39 @@
+package org.example.data.core.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class SlowQueryLog implements QueryListener {
+    private static final Logger LOGGER = Logger.getLogger(SlowQueryLog.class.getName());
+
+    private volatile long thresholdNanos;
+
+    public SlowQueryLog(long thresholdMillis) {
+        setThresholdMillis(thresholdMillis);
+    }
+
+    @Override
+    public void onQuery(QueryEvent event) {
+        if (event.elapsedNanos() < thresholdNanos || !LOGGER.isLoggable(Level.WARNING))
+            return;
+
+        LOGGER.log(Level.WARNING, String.format(Locale.ROOT,
+                "Slow query %s.%s took %.3f ms (database %.3f ms, mapping %.3f ms, %d rows)%s: %s",
+                event.entity().getSimpleName(), event.name(), event.elapsedMillis(),
+                event.databaseNanos() / 1_000_000.0, event.mappingNanos() / 1_000_000.0, event.rows(),
+                event.isFailed() ? " and failed" : "", event.sql()));
+    }
+
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    public void setThresholdMillis(long thresholdMillis) {
+        if (thresholdMillis < 0)
+            throw new IllegalArgumentException("Slow query threshold must not be negative");
+
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.data.core.page;
+
+import java.util.List;
+
+public record Page<T>(List<T> content, int size, String nextToken, long totalElements) {
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+
+    public boolean isEmpty() {
+        return content.isEmpty();
+    }
+
+    public int totalPages() {
+        return (int) ((totalElements + size - 1) / size);
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.data.core.page;
+
+import lombok.Getter;
+
+import java.util.NoSuchElementException;
+
+@Getter
+public final class PageRequest {
+    public enum Direction {
+        ASC,
+        DESC
+    }
+
+    private final int size;
+    private final String sort;
+    private final Direction direction;
+    private final String token;
+
+    private PageRequest(int size, String sort, Direction direction, String token) {
+        if (size < 1)
+            throw new IllegalArgumentException("Page size must be positive");
+
+        this.size = size;
+        this.sort = sort;
+        this.direction = direction;
+        this.token = token;
+    }
+
+    public static PageRequest of(int size) {
+        return new PageRequest(size, null, Direction.ASC, null);
+    }
+
+    public static PageRequest of(int size, String sort) {
+        return new PageRequest(size, sort, Direction.ASC, null);
+    }
+
+    public static PageRequest of(int size, String sort, Direction direction) {
+        return new PageRequest(size, sort, direction, null);
+    }
+
+    public PageRequest after(String token) {
+        return new PageRequest(size, sort, direction, token);
+    }
+
+    public PageRequest next(Slice<?> slice) {
+        if (!slice.hasNext())
+            throw new NoSuchElementException("No further slices");
+
+        return after(slice.nextToken());
+    }
+
+    public PageRequest next(Page<?> page) {
+        if (!page.hasNext())
+            throw new NoSuchElementException("No further pages");
+
+        return after(page.nextToken());
+    }
+}
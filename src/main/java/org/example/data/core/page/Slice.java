@@ -0,0 +1,13 @@
+package org.example.data.core.page;
+
+import java.util.List;
+
+public record Slice<T>(List<T> content, int size, String nextToken) {
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+
+    public boolean isEmpty() {
+        return content.isEmpty();
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.data.core.tx;
+
+import java.sql.SQLException;
+import java.util.List;
+
+@FunctionalInterface
+public interface ChunkCallback<E> {
+    int doInChunk(List<E> chunk) throws SQLException;
+}
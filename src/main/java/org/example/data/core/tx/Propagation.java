@@ -0,0 +1,8 @@
+package org.example.data.core.tx;
+
+public enum Propagation {
+    REQUIRED,
+    REQUIRES_NEW,
+    NESTED,
+    MANDATORY
+}
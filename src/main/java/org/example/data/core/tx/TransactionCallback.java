@@ -0,0 +1,8 @@
+package org.example.data.core.tx;
+
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface TransactionCallback<R> {
+    R doInTransaction(TransactionStatus status) throws SQLException;
+}
@@ -0,0 +1,111 @@
+package org.example.data.core.tx;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+final class TransactionContext {
+    private final Connection connection;
+    private final boolean readOnly;
+    private final Connection handle;
+    private final List<Runnable> afterCommit = new ArrayList<>();
+    private final List<Runnable> afterCompletion = new ArrayList<>();
+    private final List<Runnable> afterRollback = new ArrayList<>();
+
+    private volatile boolean rollbackOnly;
+
+    TransactionContext(Connection connection, boolean readOnly) {
+        this.connection = connection;
+        this.readOnly = readOnly;
+        this.handle = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Handle());
+    }
+
+    Connection getConnection() {
+        return connection;
+    }
+
+    Connection getHandle() {
+        return handle;
+    }
+
+    boolean isReadOnly() {
+        return readOnly;
+    }
+
+    boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    void markRollbackOnly() {
+        rollbackOnly = true;
+    }
+
+    void afterCommit(Runnable callback) {
+        afterCommit.add(callback);
+    }
+
+    void afterCompletion(Runnable callback) {
+        afterCompletion.add(callback);
+    }
+
+    void afterRollback(Runnable callback) {
+        afterRollback.add(callback);
+    }
+
+    void complete(boolean committed) {
+        try {
+            if (committed) {
+                afterCommit.forEach(Runnable::run);
+            } else {
+                for (int i = afterRollback.size() - 1; i >= 0; i--) {
+                    afterRollback.get(i).run();
+                }
+            }
+        } finally {
+            afterCompletion.forEach(Runnable::run);
+        }
+    }
+
+    private final class Handle implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    return null;
+                case "setAutoCommit":
+                    if ((Boolean) args[0])
+                        throw new SQLException("Cannot enable auto-commit inside a managed transaction");
+                    return null;
+                case "commit":
+                    throw new SQLException("Cannot commit inside a managed transaction");
+                case "rollback":
+                    if (args == null)
+                        throw new SQLException("Cannot roll back inside a managed transaction, "
+                                + "mark the transaction rollback-only instead");
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Transactional[" + connection + "]";
+                default:
+                    break;
+            }
+
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.data.core.tx;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder(toBuilder = true)
+public class TransactionDefinition {
+    public static final TransactionDefinition DEFAULT = builder().build();
+    public static final TransactionDefinition READ_ONLY = builder().readOnly(true).build();
+
+    @Builder.Default
+    private final Propagation propagation = Propagation.REQUIRED;
+    @Builder.Default
+    private final Isolation isolation = Isolation.DEFAULT;
+    @Builder.Default
+    private final boolean readOnly = false;
+
+    public static TransactionDefinition of(Propagation propagation) {
+        return builder().propagation(propagation).build();
+    }
+}
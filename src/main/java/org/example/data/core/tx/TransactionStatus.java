@@ -0,0 +1,62 @@
+package org.example.data.core.tx;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+public class TransactionStatus {
+    private final TransactionContext context;
+    private final boolean newTransaction;
+    private final Savepoint savepoint;
+
+    private boolean localRollbackOnly;
+
+    TransactionStatus(TransactionContext context, boolean newTransaction, Savepoint savepoint) {
+        this.context = context;
+        this.newTransaction = newTransaction;
+        this.savepoint = savepoint;
+    }
+
+    public boolean isNewTransaction() {
+        return newTransaction;
+    }
+
+    public boolean isNested() {
+        return savepoint != null;
+    }
+
+    public boolean isReadOnly() {
+        return context.isReadOnly();
+    }
+
+    public void setRollbackOnly() {
+        if (newTransaction || savepoint != null)
+            localRollbackOnly = true;
+        else
+            context.markRollbackOnly();
+    }
+
+    public boolean isRollbackOnly() {
+        return localRollbackOnly || context.isRollbackOnly();
+    }
+
+    boolean isLocalRollbackOnly() {
+        return localRollbackOnly;
+    }
+
+    public Savepoint createSavepoint() throws SQLException {
+        return context.getConnection().setSavepoint();
+    }
+
+    public void rollbackToSavepoint(Savepoint savepoint) throws SQLException {
+        context.getConnection().rollback(savepoint);
+    }
+
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        context.getConnection().releaseSavepoint(savepoint);
+    }
+
+    public Connection getConnection() {
+        return context.getHandle();
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.data.core.tx;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class TransactionTemplate {
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final DataSource dataSource;
+    private final TransactionDefinition definition;
+
+    public TransactionTemplate(DataSource dataSource) {
+        this(dataSource, TransactionDefinition.DEFAULT);
+    }
+
+    public TransactionTemplate(DataSource dataSource, TransactionDefinition definition) {
+        this.dataSource = dataSource;
+        this.definition = definition;
+    }
+
+    public TransactionTemplate with(TransactionDefinition definition) {
+        return new TransactionTemplate(dataSource, definition);
+    }
+
+    public TransactionDefinition getDefinition() {
+        return definition;
+    }
+
+    public <R> R inTransaction(TransactionCallback<R> work) throws SQLException {
+        return inTransaction(definition, work);
+    }
+
+    public <R> R inTransaction(TransactionDefinition definition, TransactionCallback<R> work) throws SQLException {
+        TransactionContext current = Transactions.current(dataSource);
+
+        return switch (definition.getPropagation()) {
+            case REQUIRED -> current != null ? participate(current, work) : begin(definition, work);
+            case REQUIRES_NEW -> begin(definition, work);
+            case NESTED -> current != null ? nested(current, work) : begin(definition, work);
+            case MANDATORY -> {
+                if (current == null)
+                    throw new SQLException("No existing transaction found for propagation MANDATORY");
+
+                yield participate(current, work);
+            }
+        };
+    }
+
+    public <E> int inChunks(Iterable<E> items, int chunkSize, ChunkCallback<E> work) throws SQLException {
+        return inChunks(items.iterator(), chunkSize, work);
+    }
+
+    public <E> int inChunks(Iterator<E> items, int chunkSize, ChunkCallback<E> work) throws SQLException {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("Chunk size must be positive");
+
+        int affected = 0;
+        List<E> chunk = new ArrayList<>(chunkSize);
+
+        while (items.hasNext()) {
+            chunk.add(items.next());
+
+            if (chunk.size() == chunkSize || !items.hasNext()) {
+                List<E> current = chunk;
+
+                affected += inTransaction(status -> work.doInChunk(current));
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+
+        return affected;
+    }
+
+    private <R> R begin(TransactionDefinition definition, TransactionCallback<R> work) throws SQLException {
+        Connection connection = Transactions.acquire(dataSource, definition.isReadOnly());
+        TransactionContext context = new TransactionContext(connection, definition.isReadOnly());
+        boolean committed = false;
+
+        boolean autoCommit = connection.getAutoCommit();
+        boolean readOnly = connection.isReadOnly();
+        int isolation = connection.getTransactionIsolation();
+
+        try {
+            if (definition.getIsolation() != Isolation.DEFAULT)
+                connection.setTransactionIsolation(definition.getIsolation().getLevel());
+            if (definition.isReadOnly())
+                connection.setReadOnly(true);
+
+            connection.setAutoCommit(false);
+
+            TransactionStatus status = new TransactionStatus(context, true, null);
+            TransactionContext previous = Transactions.bind(dataSource, context);
+            R result;
+
+            try {
+                result = work.doInTransaction(status);
+            } catch (SQLException | RuntimeException | Error e) {
+                rollbackOnException(connection, e);
+                throw e;
+            } finally {
+                Transactions.restore(dataSource, previous);
+            }
+
+            if (status.isLocalRollbackOnly()) {
+                connection.rollback();
+            } else if (context.isRollbackOnly()) {
+                connection.rollback();
+                throw new SQLException("Transaction rolled back because it has been marked as rollback-only");
+            } else {
+                connection.commit();
+                committed = true;
+            }
+
+            return result;
+        } finally {
+            try {
+                connection.setAutoCommit(autoCommit);
+
+                if (connection.isReadOnly() != readOnly)
+                    connection.setReadOnly(readOnly);
+                if (connection.getTransactionIsolation() != isolation)
+                    connection.setTransactionIsolation(isolation);
+            } catch (SQLException ignored) {
+            } finally {
+                connection.close();
+            }
+
+            context.complete(committed);
+        }
+    }
+
+    private <R> R participate(TransactionContext context, TransactionCallback<R> work) throws SQLException {
+        try {
+            return work.doInTransaction(new TransactionStatus(context, false, null));
+        } catch (SQLException | RuntimeException | Error e) {
+            context.markRollbackOnly();
+            throw e;
+        }
+    }
+
+    private <R> R nested(TransactionContext context, TransactionCallback<R> work) throws SQLException {
+        Connection connection = context.getConnection();
+        Savepoint savepoint = connection.setSavepoint();
+        TransactionStatus status = new TransactionStatus(context, false, savepoint);
+        R result;
+
+        try {
+            result = work.doInTransaction(status);
+        } catch (SQLException | RuntimeException | Error e) {
+            try {
+                connection.rollback(savepoint);
+            } catch (SQLException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+                context.markRollbackOnly();
+            }
+
+            throw e;
+        }
+
+        if (status.isLocalRollbackOnly())
+            connection.rollback(savepoint);
+        else
+            connection.releaseSavepoint(savepoint);
+
+        return result;
+    }
+
+    private static void rollbackOnException(Connection connection, Throwable failure) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+}
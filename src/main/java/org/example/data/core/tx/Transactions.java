@@ -0,0 +1,99 @@
+package org.example.data.core.tx;
+
+import org.example.data.source.RoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+public final class Transactions {
+    private static final ThreadLocal<Map<DataSource, TransactionContext>> CURRENT = new ThreadLocal<>();
+
+    private Transactions() {
+    }
+
+    public static Connection getConnection(DataSource dataSource) throws SQLException {
+        return getConnection(dataSource, false);
+    }
+
+    public static Connection getConnection(DataSource dataSource, boolean readOnly) throws SQLException {
+        TransactionContext context = current(dataSource);
+
+        return context != null ? context.getHandle() : acquire(dataSource, readOnly);
+    }
+
+    static Connection acquire(DataSource dataSource, boolean readOnly) throws SQLException {
+        if (readOnly && dataSource.isWrapperFor(RoutingDataSource.class))
+            return dataSource.unwrap(RoutingDataSource.class).getReadOnlyConnection();
+
+        return dataSource.getConnection();
+    }
+
+    public static boolean isActive(DataSource dataSource) {
+        return current(dataSource) != null;
+    }
+
+    public static boolean isReadOnly(DataSource dataSource) {
+        TransactionContext context = current(dataSource);
+
+        return context != null && context.isReadOnly();
+    }
+
+    public static void afterCommit(DataSource dataSource, Runnable callback) {
+        TransactionContext context = current(dataSource);
+
+        if (context != null)
+            context.afterCommit(callback);
+        else
+            callback.run();
+    }
+
+    public static void afterCompletion(DataSource dataSource, Runnable callback) {
+        TransactionContext context = current(dataSource);
+
+        if (context != null)
+            context.afterCompletion(callback);
+        else
+            callback.run();
+    }
+
+    public static void afterRollback(DataSource dataSource, Runnable callback) {
+        TransactionContext context = current(dataSource);
+
+        if (context != null)
+            context.afterRollback(callback);
+    }
+
+    static TransactionContext current(DataSource dataSource) {
+        Map<DataSource, TransactionContext> bound = CURRENT.get();
+
+        return bound != null ? bound.get(dataSource) : null;
+    }
+
+    static TransactionContext bind(DataSource dataSource, TransactionContext context) {
+        Map<DataSource, TransactionContext> bound = CURRENT.get();
+
+        if (bound == null) {
+            bound = new IdentityHashMap<>();
+            CURRENT.set(bound);
+        }
+
+        return bound.put(dataSource, context);
+    }
+
+    static void restore(DataSource dataSource, TransactionContext previous) {
+        Map<DataSource, TransactionContext> bound = CURRENT.get();
+
+        if (previous != null) {
+            bound.put(dataSource, previous);
+            return;
+        }
+
+        bound.remove(dataSource);
+
+        if (bound.isEmpty())
+            CURRENT.remove();
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.data.migration;
+
+import java.util.List;
+
+public record Migration(int version, String description, String script, long checksum, List<String> statements,
+                        boolean transactional) {
+}
@@ -0,0 +1,9 @@
+package org.example.data.migration;
+
+import java.util.List;
+
+public record MigrationResult(List<Migration> applied, int currentVersion, long elapsedMillis) {
+    public boolean isUpToDate() {
+        return applied.isEmpty();
+    }
+}
@@ -0,0 +1,322 @@
+package org.example.data.migration;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+public class MigrationRunner {
+    public static final String DEFAULT_LOCATION = "db/migration";
+    public static final String HISTORY_TABLE = "schema_history";
+
+    private static final Logger LOGGER = Logger.getLogger(MigrationRunner.class.getName());
+
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final Pattern NON_TRANSACTIONAL = Pattern.compile("\\bconcurrently\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CONCURRENT_INDEX = Pattern.compile(
+            "\\bcreate\\s+(?:unique\\s+)?index\\s+concurrently\\s+(?:if\\s+not\\s+exists\\s+)?([\\w.\"]+)",
+            Pattern.CASE_INSENSITIVE);
+    private static final long LOCK_KEY = 0x5343_4845_4D41L;
+
+    private static final String SELECT_HISTORY_SQL = "SELECT version, checksum FROM " + HISTORY_TABLE;
+    private static final String CREATE_HISTORY_SQL = "CREATE TABLE IF NOT EXISTS " + HISTORY_TABLE + " ("
+            + "version int PRIMARY KEY, "
+            + "description text NOT NULL, "
+            + "script text NOT NULL, "
+            + "checksum bigint NOT NULL, "
+            + "execution_millis bigint NOT NULL, "
+            + "installed_on timestamptz NOT NULL DEFAULT now())";
+    private static final String INSERT_HISTORY_SQL = "INSERT INTO " + HISTORY_TABLE
+            + " (version, description, script, checksum, execution_millis) VALUES (?, ?, ?, ?, ?)";
+    private static final String SELECT_INVALID_INDEX_SQL = "SELECT n.nspname, c.relname FROM pg_index i "
+            + "JOIN pg_class c ON c.oid = i.indexrelid "
+            + "JOIN pg_namespace n ON n.oid = c.relnamespace "
+            + "WHERE NOT i.indisvalid AND c.oid = to_regclass(?)";
+    private static final String UNDEFINED_TABLE = "42P01";
+
+    private final DataSource dataSource;
+    private final String location;
+    private final ClassLoader classLoader;
+
+    private List<Migration> migrations;
+
+    public MigrationRunner(DataSource dataSource) {
+        this(dataSource, DEFAULT_LOCATION);
+    }
+
+    public MigrationRunner(DataSource dataSource, String location) {
+        this.dataSource = dataSource;
+        this.location = location.endsWith("/") ? location.substring(0, location.length() - 1) : location;
+        this.classLoader = MigrationRunner.class.getClassLoader();
+    }
+
+    public MigrationResult migrate() throws SQLException, IOException {
+        long started = System.currentTimeMillis();
+        List<Migration> available = getMigrations();
+
+        try (Connection connection = dataSource.getConnection()) {
+            Map<Integer, Long> applied = appliedVersions(connection);
+
+            if (applied != null && pending(available, applied).isEmpty())
+                return new MigrationResult(List.of(), currentVersion(applied), System.currentTimeMillis() - started);
+
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("SELECT pg_advisory_lock(" + LOCK_KEY + ")");
+            }
+
+            try {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute(CREATE_HISTORY_SQL);
+                }
+
+                applied = appliedVersions(connection);
+                List<Migration> pending = pending(available, applied);
+
+                for (Migration migration : pending) {
+                    apply(connection, migration);
+                    applied.put(migration.version(), migration.checksum());
+                }
+
+                return new MigrationResult(pending, currentVersion(applied), System.currentTimeMillis() - started);
+            } finally {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+                }
+            }
+        }
+    }
+
+    public synchronized List<Migration> getMigrations() throws IOException {
+        if (migrations == null)
+            migrations = load();
+
+        return migrations;
+    }
+
+    private Map<Integer, Long> appliedVersions(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_HISTORY_SQL)) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getLong(2));
+            }
+        } catch (SQLException e) {
+            if (UNDEFINED_TABLE.equals(e.getSQLState()) && connection.getAutoCommit())
+                return null;
+
+            throw e;
+        }
+
+        return applied;
+    }
+
+    private List<Migration> pending(List<Migration> available, Map<Integer, Long> applied) throws SQLException {
+        if (applied == null)
+            return available;
+
+        List<Migration> pending = new ArrayList<>();
+
+        for (Migration migration : available) {
+            Long checksum = applied.get(migration.version());
+
+            if (checksum == null)
+                pending.add(migration);
+            else if (checksum != migration.checksum())
+                throw new SQLException("Checksum mismatch for migration " + migration.script()
+                        + ": applied " + checksum + ", found " + migration.checksum());
+        }
+
+        return pending;
+    }
+
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        long started = System.currentTimeMillis();
+
+        try {
+            if (migration.transactional()) {
+                connection.setAutoCommit(false);
+
+                try {
+                    execute(connection, migration.statements());
+                    record(connection, migration, System.currentTimeMillis() - started);
+                    connection.commit();
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            } else {
+                dropInvalidIndexes(connection, migration.statements());
+                execute(connection, migration.statements());
+                record(connection, migration, System.currentTimeMillis() - started);
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Error applying migration " + migration.script(), e);
+        }
+
+        LOGGER.info("Applied migration " + migration.script() + " in " + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    private static void dropInvalidIndexes(Connection connection, List<String> statements) throws SQLException {
+        for (String sql : statements) {
+            Matcher matcher = CONCURRENT_INDEX.matcher(sql);
+
+            if (!matcher.find())
+                continue;
+
+            String drop = null;
+
+            try (PreparedStatement stmt = connection.prepareStatement(SELECT_INVALID_INDEX_SQL)) {
+                stmt.setString(1, matcher.group(1));
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next())
+                        drop = "DROP INDEX CONCURRENTLY IF EXISTS " + quote(rs.getString(1)) + "." + quote(rs.getString(2));
+                }
+            }
+
+            if (drop == null)
+                continue;
+
+            LOGGER.warning("Dropping invalid index " + matcher.group(1) + " left by a failed concurrent build");
+
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute(drop);
+            }
+        }
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    private static void execute(Connection connection, List<String> statements) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            for (String sql : statements) {
+                stmt.execute(sql);
+            }
+        }
+    }
+
+    private static void record(Connection connection, Migration migration, long executionMillis) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(INSERT_HISTORY_SQL)) {
+            stmt.setInt(1, migration.version());
+            stmt.setString(2, migration.description());
+            stmt.setString(3, migration.script());
+            stmt.setLong(4, migration.checksum());
+            stmt.setLong(5, executionMillis);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static int currentVersion(Map<Integer, Long> applied) {
+        return applied.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    private List<Migration> load() throws IOException {
+        List<Migration> loaded = new ArrayList<>();
+
+        for (String name : scriptNames()) {
+            Matcher matcher = SCRIPT_NAME.matcher(name);
+
+            if (!matcher.matches())
+                continue;
+
+            String script;
+
+            try (InputStream input = classLoader.getResourceAsStream(location + "/" + name)) {
+                if (input == null)
+                    throw new IOException("Migration script " + name + " is not readable");
+
+                script = new String(input.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+            }
+
+            CRC32 checksum = new CRC32();
+            checksum.update(script.getBytes(StandardCharsets.UTF_8));
+
+            List<String> statements = SqlScript.split(script);
+
+            loaded.add(new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '), name,
+                    checksum.getValue(), statements, transactional(statements)));
+        }
+
+        loaded.sort(Comparator.comparingInt(Migration::version));
+
+        for (int i = 1; i < loaded.size(); i++) {
+            if (loaded.get(i).version() == loaded.get(i - 1).version())
+                throw new IOException("Duplicate migration version " + loaded.get(i).version() + ": "
+                        + loaded.get(i - 1).script() + " and " + loaded.get(i).script());
+        }
+
+        return List.copyOf(loaded);
+    }
+
+    static boolean transactional(List<String> statements) {
+        return statements.stream().noneMatch(statement -> NON_TRANSACTIONAL.matcher(statement).find());
+    }
+
+    private TreeSet<String> scriptNames() throws IOException {
+        TreeSet<String> names = new TreeSet<>();
+        Enumeration<URL> roots = classLoader.getResources(location);
+
+        while (roots.hasMoreElements()) {
+            URL root = roots.nextElement();
+
+            switch (root.getProtocol()) {
+                case "file" -> {
+                    try {
+                        String[] files = new File(root.toURI()).list();
+
+                        if (files != null)
+                            names.addAll(List.of(files));
+                    } catch (URISyntaxException e) {
+                        throw new IOException("Invalid migration location " + root, e);
+                    }
+                }
+                case "jar" -> {
+                    JarURLConnection jarConnection = (JarURLConnection) root.openConnection();
+                    jarConnection.setUseCaches(false);
+                    String prefix = location + "/";
+
+                    try (JarFile jar = jarConnection.getJarFile()) {
+                        Enumeration<JarEntry> entries = jar.entries();
+
+                        while (entries.hasMoreElements()) {
+                            String entry = entries.nextElement().getName();
+
+                            if (entry.startsWith(prefix) && entry.indexOf('/', prefix.length()) < 0)
+                                names.add(entry.substring(prefix.length()));
+                        }
+                    }
+                }
+                default -> throw new IOException("Unsupported migration location " + root);
+            }
+        }
+
+        return names;
+    }
+}
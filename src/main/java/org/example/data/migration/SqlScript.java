@@ -0,0 +1,89 @@
+package org.example.data.migration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class SqlScript {
+    private SqlScript() {
+    }
+
+    static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int length = script.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = script.charAt(i);
+
+            if (c == '\'' || c == '"') {
+                int end = closing(script, i + 1, c);
+                current.append(script, i, end);
+                i = end;
+            } else if (c == '-' && i + 1 < length && script.charAt(i + 1) == '-') {
+                int end = script.indexOf('\n', i);
+                i = end < 0 ? length : end;
+            } else if (c == '/' && i + 1 < length && script.charAt(i + 1) == '*') {
+                int end = script.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                current.append(' ');
+            } else if (c == '$' && dollarTag(script, i) != null) {
+                String tag = dollarTag(script, i);
+                int end = script.indexOf(tag, i + tag.length());
+                end = end < 0 ? length : end + tag.length();
+                current.append(script, i, end);
+                i = end;
+            } else if (c == ';') {
+                add(statements, current);
+                i++;
+            } else {
+                current.append(c);
+                i++;
+            }
+        }
+
+        add(statements, current);
+        return statements;
+    }
+
+    private static int closing(String script, int from, char quote) {
+        int i = from;
+
+        while (i < script.length()) {
+            if (script.charAt(i) == quote) {
+                if (i + 1 < script.length() && script.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+
+                return i + 1;
+            }
+
+            i++;
+        }
+
+        return script.length();
+    }
+
+    private static String dollarTag(String script, int from) {
+        int i = from + 1;
+
+        while (i < script.length() && (Character.isLetterOrDigit(script.charAt(i)) || script.charAt(i) == '_')) {
+            i++;
+        }
+
+        if (i < script.length() && script.charAt(i) == '$' && (i == from + 1 || !Character.isDigit(script.charAt(from + 1))))
+            return script.substring(from, i + 1);
+
+        return null;
+    }
+
+    private static void add(List<String> statements, StringBuilder current) {
+        String statement = current.toString().trim();
+
+        if (!statement.isEmpty())
+            statements.add(statement);
+
+        current.setLength(0);
+    }
+}
@@ -0,0 +1,363 @@
+package org.example.data.processor;
+
+import org.example.data.core.annotation.Column;
+import org.example.data.core.annotation.Id;
+import org.example.data.core.annotation.IgnoreColumn;
+import org.example.data.core.annotation.Json;
+import org.example.data.core.annotation.ManyToMany;
+import org.example.data.core.annotation.Model;
+import org.example.data.core.annotation.Version;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@SupportedAnnotationTypes("org.example.data.core.annotation.Model")
+public class EntityMapperProcessor extends AbstractProcessor {
+    private static final String MAPPER_SUFFIX = "_Mapper";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Model.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@Model can only be applied to classes");
+                continue;
+            }
+
+            TypeElement model = (TypeElement) element;
+
+            try {
+                generate(model);
+            } catch (IOException e) {
+                error(model, "Unable to write mapper for " + model.getQualifiedName() + ": " + e.getMessage());
+            }
+        }
+
+        return false;
+    }
+
+    private void generate(TypeElement model) throws IOException {
+        List<Property> columns = new ArrayList<>();
+
+        for (Element member : model.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.FIELD
+                    || member.getModifiers().contains(Modifier.STATIC)
+                    || member.getAnnotation(IgnoreColumn.class) != null
+                    || member.getAnnotation(ManyToMany.class) != null)
+                continue;
+
+            if (member.getModifiers().contains(Modifier.FINAL)) {
+                error(member, "Persistent field " + member.getSimpleName() + " must not be final");
+                return;
+            }
+
+            columns.add(new Property((VariableElement) member));
+        }
+
+        List<Property> ids = columns.stream().filter(Property::isId).toList();
+
+        if (ids.size() != 1) {
+            error(model, "Entity " + model.getSimpleName() + " must declare exactly one @Id field");
+            return;
+        }
+
+        Property id = ids.get(0);
+        List<Property> versions = columns.stream().filter(Property::isVersion).toList();
+
+        if (versions.size() > 1) {
+            error(model, "Entity " + model.getSimpleName() + " must declare at most one @Version field");
+            return;
+        }
+
+        Property version = versions.isEmpty() ? null : versions.get(0);
+        List<Property> updatable = columns.stream().filter(column -> !column.isId() && !column.isVersion()).toList();
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(model).getQualifiedName().toString();
+        String modelName = binaryName(model);
+        String mapperName = modelName + MAPPER_SUFFIX;
+        String entityType = model.getQualifiedName().toString();
+
+        String qualifiedMapperName = packageName.isEmpty() ? mapperName : packageName + "." + mapperName;
+        Writer writer = processingEnv.getFiler().createSourceFile(qualifiedMapperName, model).openWriter();
+
+        try (PrintWriter out = new PrintWriter(writer)) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+
+            out.println("import org.example.data.core.convert.TypeConverter;");
+            out.println("import org.example.data.core.convert.TypeConverters;");
+            out.println();
+            out.println("import java.sql.PreparedStatement;");
+            out.println("import java.sql.ResultSet;");
+            out.println("import java.sql.SQLException;");
+            out.println("import java.util.List;");
+            out.println();
+            out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+            out.println("public final class " + mapperName
+                    + " implements org.example.data.core.EntityMapper<" + entityType + "> {");
+            out.println("    private static final List<String> COLUMN_NAMES = List.of("
+                    + columns.stream().map(column -> '"' + column.columnName + '"').collect(Collectors.joining(", "))
+                    + ");");
+
+            for (Property column : columns) {
+                if (column.usesConverter())
+                    out.println("    private static final TypeConverter<Object> " + column.converterName()
+                            + " = TypeConverters.forField(" + entityType + ".class, \"" + column.fieldName + "\");");
+            }
+
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public List<String> getColumnNames() {");
+            out.println("        return COLUMN_NAMES;");
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public " + entityType + " newInstance() {");
+            out.println("        return new " + entityType + "();");
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public Object getId(" + entityType + " entity) {");
+            out.println("        return " + id.read("entity") + ";");
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public " + entityType + " copy(" + entityType + " entity) {");
+            out.println("        " + entityType + " copy = new " + entityType + "();");
+
+            for (Property column : columns) {
+                out.println("        " + column.write("copy", column.read("entity")) + ";");
+            }
+
+            out.println("        return copy;");
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public " + entityType + " mapRow(ResultSet rs, int[] indexes) throws SQLException {");
+            out.println("        " + entityType + " entity = new " + entityType + "();");
+            out.println("        int index;");
+
+            for (int i = 0; i < columns.size(); i++) {
+                Property column = columns.get(i);
+
+                out.println();
+                out.println("        if ((index = indexes[" + i + "]) > 0) {");
+                column.printRead(out, "entity", "rs", "index");
+                out.println("        }");
+            }
+
+            out.println();
+            out.println("        return entity;");
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public void bindInsert(PreparedStatement stmt, " + entityType
+                    + " entity) throws SQLException {");
+
+            for (int i = 0; i < columns.size(); i++) {
+                out.println("        " + columns.get(i).bind("stmt", i + 1, "entity") + ";");
+            }
+
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public void bindUpdate(PreparedStatement stmt, " + entityType
+                    + " entity) throws SQLException {");
+
+            for (int i = 0; i < updatable.size(); i++) {
+                out.println("        " + updatable.get(i).bind("stmt", i + 1, "entity") + ";");
+            }
+
+            out.println("        " + id.bind("stmt", updatable.size() + 1, "entity") + ";");
+
+            if (version != null)
+                out.println("        " + version.bind("stmt", updatable.size() + 2, "entity") + ";");
+
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private static String binaryName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        Element enclosing = type.getEnclosingElement();
+
+        while (!(enclosing instanceof PackageElement)) {
+            name.insert(0, enclosing.getSimpleName() + "$");
+            enclosing = enclosing.getEnclosingElement();
+        }
+
+        return name.toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private final class Property {
+        private final String fieldName;
+        private final String columnName;
+        private final TypeMirror type;
+        private final boolean id;
+        private final boolean version;
+        private final boolean json;
+        private final boolean direct;
+        private final String getter;
+        private final String setter;
+
+        private Property(VariableElement field) {
+            Column column = field.getAnnotation(Column.class);
+
+            this.fieldName = field.getSimpleName().toString();
+            this.columnName = column != null && !column.value().isEmpty() ? column.value() : fieldName;
+            this.type = field.asType();
+            this.id = field.getAnnotation(Id.class) != null;
+            this.version = field.getAnnotation(Version.class) != null;
+            this.json = field.getAnnotation(Json.class) != null;
+            this.direct = !field.getModifiers().contains(Modifier.PRIVATE);
+
+            if (type.getKind() == TypeKind.BOOLEAN && fieldName.length() > 2 && fieldName.startsWith("is")
+                    && Character.isUpperCase(fieldName.charAt(2))) {
+                this.getter = fieldName;
+                this.setter = "set" + fieldName.substring(2);
+            } else {
+                String capitalized = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+
+                this.getter = (type.getKind() == TypeKind.BOOLEAN ? "is" : "get") + capitalized;
+                this.setter = "set" + capitalized;
+            }
+        }
+
+        private boolean isId() {
+            return id;
+        }
+
+        private boolean isVersion() {
+            return version;
+        }
+
+        private boolean usesConverter() {
+            return json || !type.getKind().isPrimitive() && !isType("java.lang.String");
+        }
+
+        private String converterName() {
+            return fieldName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase() + "_CONVERTER";
+        }
+
+        private String read(String target) {
+            return direct ? target + "." + fieldName : target + "." + getter + "()";
+        }
+
+        private String write(String target, String value) {
+            return direct ? target + "." + fieldName + " = " + value : target + "." + setter + "(" + value + ")";
+        }
+
+        private String bind(String stmt, int index, String target) {
+            String value = read(target);
+
+            if (json)
+                return converterName() + ".bind(" + stmt + ", " + index + ", " + value + ")";
+
+            return switch (type.getKind()) {
+                case INT -> stmt + ".setInt(" + index + ", " + value + ")";
+                case LONG -> stmt + ".setLong(" + index + ", " + value + ")";
+                case SHORT -> stmt + ".setShort(" + index + ", " + value + ")";
+                case BOOLEAN -> stmt + ".setBoolean(" + index + ", " + value + ")";
+                case DOUBLE -> stmt + ".setDouble(" + index + ", " + value + ")";
+                case FLOAT -> stmt + ".setFloat(" + index + ", " + value + ")";
+                default -> isType("java.lang.String")
+                        ? stmt + ".setString(" + index + ", " + value + ")"
+                        : converterName() + ".bind(" + stmt + ", " + index + ", " + value + ")";
+            };
+        }
+
+        private void printRead(PrintWriter out, String target, String rs, String index) {
+            String indent = "            ";
+
+            if (json) {
+                printConverterRead(out, indent, target, rs, index);
+                return;
+            }
+
+            switch (type.getKind()) {
+                case INT -> out.println(indent + write(target, rs + ".getInt(" + index + ")") + ";");
+                case LONG -> out.println(indent + write(target, rs + ".getLong(" + index + ")") + ";");
+                case SHORT -> out.println(indent + write(target, rs + ".getShort(" + index + ")") + ";");
+                case BOOLEAN -> out.println(indent + write(target, rs + ".getBoolean(" + index + ")") + ";");
+                case DOUBLE -> out.println(indent + write(target, rs + ".getDouble(" + index + ")") + ";");
+                case FLOAT -> out.println(indent + write(target, rs + ".getFloat(" + index + ")") + ";");
+                default -> printReferenceRead(out, indent, target, rs, index);
+            }
+        }
+
+        private void printReferenceRead(PrintWriter out, String indent, String target, String rs, String index) {
+            String boxedRead = switch (erasure()) {
+                case "java.lang.Integer" -> "int value = " + rs + ".getInt(" + index + ");";
+                case "java.lang.Long" -> "long value = " + rs + ".getLong(" + index + ");";
+                case "java.lang.Short" -> "short value = " + rs + ".getShort(" + index + ");";
+                case "java.lang.Boolean" -> "boolean value = " + rs + ".getBoolean(" + index + ");";
+                case "java.lang.Double" -> "double value = " + rs + ".getDouble(" + index + ");";
+                case "java.lang.Float" -> "float value = " + rs + ".getFloat(" + index + ");";
+                default -> null;
+            };
+
+            if (boxedRead != null) {
+                out.println(indent + boxedRead);
+                out.println(indent + write(target, rs + ".wasNull() ? null : value") + ";");
+            } else if (isType("java.lang.String")) {
+                out.println(indent + write(target, rs + ".getString(" + index + ")") + ";");
+            } else {
+                printConverterRead(out, indent, target, rs, index);
+            }
+        }
+
+        private void printConverterRead(PrintWriter out, String indent, String target, String rs, String index) {
+            if (erasure().equals(type.toString())) {
+                out.println(indent + write(target, "(" + type + ") " + converterName() + ".read(" + rs + ", " + index + ")") + ";");
+            } else {
+                out.println(indent + "@SuppressWarnings(\"unchecked\")");
+                out.println(indent + type + " value = (" + type + ") " + converterName() + ".read(" + rs + ", " + index + ");");
+                out.println(indent + write(target, "value") + ";");
+            }
+        }
+
+        private boolean isType(String qualifiedName) {
+            return erasure().equals(qualifiedName);
+        }
+
+        private String erasure() {
+            return processingEnv.getTypeUtils().erasure(type).toString();
+        }
+    }
+}
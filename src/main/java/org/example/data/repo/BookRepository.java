@@ -2,12 +2,69 @@ package org.example.data.repo;
 
 import org.example.data.core.JdbcRepository;
 import org.example.model.Book;
+import org.example.model.BookTitleView;
 
-import java.sql.Connection;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public class BookRepository extends JdbcRepository<Book, UUID> {
-    public BookRepository(Connection connection) {
-        super(connection);
+    private final Queries queries = derive(Queries.class);
+
+    public BookRepository(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    public List<Book> findByAuthor(String author) throws SQLException {
+        return queries.findByAuthorOrderByPublicationYearAsc(author);
+    }
+
+    public List<BookTitleView> findTitlesByAuthor(String author) throws SQLException {
+        return queries.findTitlesByAuthorOrderByTitleAsc(author);
+    }
+
+    public List<Book> findByPublicationYearBetween(int from, int to) throws SQLException {
+        return queries.findByPublicationYearBetweenOrderByPublicationYearAscTitleAsc(from, to);
+    }
+
+    public Optional<Book> findByIsbn(String isbn) throws SQLException {
+        return queries.findByIsbn(isbn);
+    }
+
+    public List<Book> findAllByIsbn(Collection<String> isbns) throws SQLException {
+        return queries.findByIsbnIn(isbns);
+    }
+
+    public List<Book> findLatestByAuthor(String author) throws SQLException {
+        return queries.findTop10ByAuthorOrderByPublicationYearDesc(author);
+    }
+
+    public long countByAuthor(String author) throws SQLException {
+        return queries.countByAuthor(author);
+    }
+
+    public boolean existsByIsbn(String isbn) throws SQLException {
+        return queries.existsByIsbn(isbn);
+    }
+
+    interface Queries {
+        List<Book> findByAuthorOrderByPublicationYearAsc(String author) throws SQLException;
+
+        List<BookTitleView> findTitlesByAuthorOrderByTitleAsc(String author) throws SQLException;
+
+        List<Book> findByPublicationYearBetweenOrderByPublicationYearAscTitleAsc(int from, int to) throws SQLException;
+
+        Optional<Book> findByIsbn(String isbn) throws SQLException;
+
+        List<Book> findByIsbnIn(Collection<String> isbns) throws SQLException;
+
+        List<Book> findTop10ByAuthorOrderByPublicationYearDesc(String author) throws SQLException;
+
+        long countByAuthor(String author) throws SQLException;
+
+        boolean existsByIsbn(String isbn) throws SQLException;
     }
 }
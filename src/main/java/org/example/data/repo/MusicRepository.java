@@ -1,39 +1,25 @@
 package org.example.data.repo;
 
 import org.example.data.core.JdbcRepository;
+import org.example.data.core.annotation.Query;
 import org.example.model.Music;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.util.ArrayList;
+import javax.sql.DataSource;
 import java.util.List;
 
 public class MusicRepository extends JdbcRepository<Music, Integer> {
-    public MusicRepository(Connection connection) {
-        super(connection);
+    private final Queries queries = derive(Queries.class);
+
+    public MusicRepository(DataSource dataSource) {
+        super(dataSource);
     }
 
     public List<Music> findAllByTitleMatchingRegex(String regex) {
-        String sql = "select * from study.music where " + tableName + ".name !~* ?";
-
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, regex);
-
-            ResultSet rs = ps.executeQuery();
-            List<Music> musics = new ArrayList<>();
-
-            while (rs.next()) {
-                Music music = mapRow(rs);
-                musics.add(music);
-            }
+        return queries.findAllByTitleMatchingRegex(regex);
+    }
 
-            return musics;
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        } catch (ReflectiveOperationException e) {
-            throw new RuntimeException(e);
-        }
+    interface Queries {
+        @Query("select * from music where name !~* ?")
+        List<Music> findAllByTitleMatchingRegex(String regex);
     }
 }
@@ -3,11 +3,29 @@ package org.example.data.repo;
 import org.example.data.core.JdbcRepository;
 import org.example.model.Visitor;
 
-import java.sql.Connection;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
 import java.util.UUID;
 
 public class VisitorRepository extends JdbcRepository<Visitor, UUID> {
-    public VisitorRepository(Connection connection) {
-        super(connection);
+    private final Queries queries = derive(Queries.class);
+
+    public VisitorRepository(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    public List<Visitor> findSubscribed() throws SQLException {
+        return queries.findByIsSubscribedTrueOrderBySurnameAscNameAsc();
+    }
+
+    public long countSubscribed() throws SQLException {
+        return queries.countByIsSubscribedTrue();
+    }
+
+    interface Queries {
+        List<Visitor> findByIsSubscribedTrueOrderBySurnameAscNameAsc() throws SQLException;
+
+        long countByIsSubscribedTrue() throws SQLException;
     }
 }
@@ -0,0 +1,27 @@
+package org.example.data.source;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class PoolConfig {
+    @Builder.Default
+    private final int minSize = 2;
+    @Builder.Default
+    private final int maxSize = 10;
+    @Builder.Default
+    private final long acquireTimeoutMillis = 30_000;
+    @Builder.Default
+    private final long idleTimeoutMillis = 600_000;
+    @Builder.Default
+    private final long validationIntervalMillis = 500;
+    @Builder.Default
+    private final int validationTimeoutSeconds = 5;
+    @Builder.Default
+    private final long leakDetectionThresholdMillis = 0;
+    @Builder.Default
+    private final long housekeepingIntervalMillis = 30_000;
+    @Builder.Default
+    private final int statementCacheSize = 64;
+}
@@ -0,0 +1,45 @@
+package org.example.data.source;
+
+public record PoolMetrics(
+        int total,
+        int active,
+        int idle,
+        int pending,
+        long acquired,
+        long created,
+        long evicted,
+        long acquireTimeouts,
+        long validationFailures,
+        long leaksDetected,
+        long totalWaitMillis,
+        long statementCacheHits,
+        long statementCacheMisses,
+        long statementCacheEvictions) {
+
+    public PoolMetrics plus(PoolMetrics other) {
+        return new PoolMetrics(
+                total + other.total,
+                active + other.active,
+                idle + other.idle,
+                pending + other.pending,
+                acquired + other.acquired,
+                created + other.created,
+                evicted + other.evicted,
+                acquireTimeouts + other.acquireTimeouts,
+                validationFailures + other.validationFailures,
+                leaksDetected + other.leaksDetected,
+                totalWaitMillis + other.totalWaitMillis,
+                statementCacheHits + other.statementCacheHits,
+                statementCacheMisses + other.statementCacheMisses,
+                statementCacheEvictions + other.statementCacheEvictions);
+    }
+
+    public double averageWaitMillis() {
+        return acquired == 0 ? 0 : (double) totalWaitMillis / acquired;
+    }
+
+    public double statementCacheHitRatio() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups == 0 ? 0 : (double) statementCacheHits / lookups;
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.data.source;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+class PooledConnection {
+    private final Connection physical;
+    private final long createdAt;
+    private final int defaultIsolation;
+    private final StatementCache statementCache;
+
+    private volatile long lastReturnedAt;
+    private volatile long borrowedAt;
+    private volatile Throwable borrowTrace;
+    private volatile boolean leakReported;
+    private volatile boolean isolationChanged;
+
+    PooledConnection(Connection physical, int statementCacheSize, StatementCache.Stats statementCacheStats)
+            throws SQLException {
+        this.physical = physical;
+        this.defaultIsolation = physical.getTransactionIsolation();
+        this.statementCache = statementCacheSize > 0
+                ? new StatementCache(physical, statementCacheSize, statementCacheStats)
+                : null;
+        this.createdAt = System.currentTimeMillis();
+        this.lastReturnedAt = createdAt;
+    }
+
+    Connection getPhysical() {
+        return physical;
+    }
+
+    boolean isIsolationChanged() {
+        return isolationChanged;
+    }
+
+    void restoreIsolation() throws SQLException {
+        physical.setTransactionIsolation(defaultIsolation);
+        isolationChanged = false;
+    }
+
+    long getLastReturnedAt() {
+        return lastReturnedAt;
+    }
+
+    long getBorrowedAt() {
+        return borrowedAt;
+    }
+
+    Throwable getBorrowTrace() {
+        return borrowTrace;
+    }
+
+    boolean isLeakReported() {
+        return leakReported;
+    }
+
+    void markLeakReported() {
+        leakReported = true;
+    }
+
+    void markBorrowed(boolean traceBorrow) {
+        borrowedAt = System.currentTimeMillis();
+        borrowTrace = traceBorrow ? new Throwable("Connection borrowed here") : null;
+        leakReported = false;
+    }
+
+    void markReturned() {
+        lastReturnedAt = System.currentTimeMillis();
+        borrowTrace = null;
+    }
+
+    Connection newHandle(PooledDataSource pool) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Handle(pool));
+    }
+
+    void closePhysical() {
+        try {
+            physical.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private final class Handle implements InvocationHandler {
+        private final PooledDataSource pool;
+        private boolean closed;
+
+        private Handle(PooledDataSource pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        pool.release(PooledConnection.this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || physical.isClosed();
+                case "unwrap":
+                    if (args[0] == StatementCache.class && statementCache != null)
+                        return statementCache;
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : physical.unwrap((Class<?>) args[0]);
+                case "isWrapperFor":
+                    if (args[0] == StatementCache.class)
+                        return statementCache != null;
+                    return ((Class<?>) args[0]).isInstance(proxy) || physical.isWrapperFor((Class<?>) args[0]);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + physical + (closed ? ", returned]" : "]");
+                case "setTransactionIsolation":
+                    if (!closed)
+                        isolationChanged = (int) args[0] != defaultIsolation;
+                    break;
+                default:
+                    break;
+            }
+
+            if (closed)
+                throw new SQLException("Connection has already been returned to the pool");
+
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package org.example.data.source;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class PooledDataSource implements DataSource, AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(PooledDataSource.class.getName());
+
+    private final DataSource target;
+    private final PoolConfig config;
+
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> active = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final ScheduledExecutorService housekeeper;
+
+    private final AtomicInteger total = new AtomicInteger();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder acquireTimeouts = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder leaksDetected = new LongAdder();
+    private final LongAdder totalWaitMillis = new LongAdder();
+    private final StatementCache.Stats statementCacheStats = new StatementCache.Stats();
+
+    private volatile boolean closed;
+
+    public PooledDataSource(DataSource target, PoolConfig config) throws SQLException {
+        if (config.getMinSize() < 0 || config.getMaxSize() < 1 || config.getMinSize() > config.getMaxSize())
+            throw new IllegalArgumentException("Invalid pool size: min=" + config.getMinSize()
+                    + ", max=" + config.getMaxSize());
+
+        this.target = target;
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+
+        fillToMinimum();
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jdbc-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long interval = config.getHousekeepingIntervalMillis();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed)
+            throw new SQLException("Connection pool is closed");
+
+        long started = System.nanoTime();
+
+        try {
+            if (!permits.tryAcquire(config.getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                acquireTimeouts.increment();
+                throw new SQLTransientConnectionException("Timed out after " + config.getAcquireTimeoutMillis()
+                        + " ms waiting for a connection (active=" + active.size() + ", max=" + config.getMaxSize() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        PooledConnection entry;
+
+        try {
+            entry = takeValidConnection();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        acquired.increment();
+        totalWaitMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        entry.markBorrowed(config.getLeakDetectionThresholdMillis() > 0);
+        active.add(entry);
+
+        return entry.newHandle(this);
+    }
+
+    private PooledConnection takeValidConnection() throws SQLException {
+        while (true) {
+            PooledConnection entry = idle.pollFirst();
+
+            if (entry == null)
+                return createConnection();
+
+            long idleFor = System.currentTimeMillis() - entry.getLastReturnedAt();
+
+            if (idleFor < config.getValidationIntervalMillis()
+                    || entry.getPhysical().isValid(config.getValidationTimeoutSeconds()))
+                return entry;
+
+            validationFailures.increment();
+            discard(entry);
+        }
+    }
+
+    private PooledConnection createConnection() throws SQLException {
+        Connection physical = target.getConnection();
+        PooledConnection entry;
+
+        try {
+            entry = new PooledConnection(physical, config.getStatementCacheSize(), statementCacheStats);
+        } catch (SQLException e) {
+            physical.close();
+            throw e;
+        }
+
+        total.incrementAndGet();
+        created.increment();
+
+        return entry;
+    }
+
+    void release(PooledConnection entry) {
+        active.remove(entry);
+
+        try {
+            Connection physical = entry.getPhysical();
+
+            if (closed || physical.isClosed()) {
+                discard(entry);
+                return;
+            }
+
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+
+            if (physical.isReadOnly())
+                physical.setReadOnly(false);
+
+            if (entry.isIsolationChanged())
+                entry.restoreIsolation();
+
+            entry.markReturned();
+            idle.offerFirst(entry);
+        } catch (SQLException e) {
+            discard(entry);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection entry) {
+        total.decrementAndGet();
+        entry.closePhysical();
+    }
+
+    private void fillToMinimum() throws SQLException {
+        while (!closed && total.get() < config.getMinSize() && permits.tryAcquire()) {
+            try {
+                idle.offerLast(createConnection());
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        Iterator<PooledConnection> oldestFirst = idle.descendingIterator();
+
+        while (oldestFirst.hasNext() && total.get() > config.getMinSize()) {
+            PooledConnection entry = oldestFirst.next();
+
+            if (now - entry.getLastReturnedAt() > config.getIdleTimeoutMillis() && idle.remove(entry)) {
+                evicted.increment();
+                discard(entry);
+            }
+        }
+
+        long leakThreshold = config.getLeakDetectionThresholdMillis();
+
+        if (leakThreshold > 0) {
+            for (PooledConnection entry : active) {
+                if (!entry.isLeakReported() && now - entry.getBorrowedAt() > leakThreshold) {
+                    entry.markLeakReported();
+                    leaksDetected.increment();
+                    LOGGER.log(Level.WARNING, "Connection held for more than " + leakThreshold
+                            + " ms, possible leak", entry.getBorrowTrace());
+                }
+            }
+        }
+
+        try {
+            fillToMinimum();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Unable to replenish connection pool", e);
+        }
+    }
+
+    public PoolMetrics getMetrics() {
+        return new PoolMetrics(
+                total.get(),
+                active.size(),
+                idle.size(),
+                permits.getQueueLength(),
+                acquired.sum(),
+                created.sum(),
+                evicted.sum(),
+                acquireTimeouts.sum(),
+                validationFailures.sum(),
+                leaksDetected.sum(),
+                totalWaitMillis.sum(),
+                statementCacheStats.hits(),
+                statementCacheStats.misses(),
+                statementCacheStats.evictions());
+    }
+
+    int getLoad() {
+        return active.size() + permits.getQueueLength();
+    }
+
+    public PoolConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PooledConnection entry;
+
+        while ((entry = idle.pollFirst()) != null) {
+            discard(entry);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections use the configured credentials");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return target.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        target.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        target.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return target.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() {
+        return LOGGER;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this))
+            return iface.cast(this);
+
+        return target.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.data.source;
+
+public enum ReplicaSelection {
+    ROUND_ROBIN,
+    LEAST_LOADED;
+
+    public static ReplicaSelection parse(String value) {
+        return valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+}
@@ -0,0 +1,231 @@
+package org.example.data.source;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class RoutingDataSource implements DataSource, AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(RoutingDataSource.class.getName());
+
+    private final PooledDataSource primary;
+    private final List<PooledDataSource> replicas;
+    private final ReplicaSelection selection;
+    private final long readYourWritesNanos;
+
+    private final ThreadLocal<AtomicLong> lastPrimaryUse = ThreadLocal.withInitial(AtomicLong::new);
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryReads = new LongAdder();
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder replicaFailures = new LongAdder();
+
+    public RoutingDataSource(PooledDataSource primary, List<PooledDataSource> replicas, ReplicaSelection selection,
+                             long readYourWritesMillis) {
+        if (readYourWritesMillis < 0)
+            throw new IllegalArgumentException("Read-your-writes window must not be negative");
+
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.readYourWritesNanos = readYourWritesMillis * 1_000_000;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = primary.getConnection();
+
+        if (replicas.isEmpty() || readYourWritesNanos == 0)
+            return connection;
+
+        markPrimaryUse();
+        return trackPrimaryUse(connection);
+    }
+
+    public Connection getReadOnlyConnection() throws SQLException {
+        if (replicas.isEmpty() || isSticky()) {
+            primaryReads.increment();
+            return primary.getConnection();
+        }
+
+        int first = selectReplica();
+
+        for (int i = 0; i < replicas.size(); i++) {
+            PooledDataSource replica = replicas.get((first + i) % replicas.size());
+
+            try {
+                Connection connection = replica.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                replicaFailures.increment();
+                LOGGER.log(Level.WARNING, "Replica " + ((first + i) % replicas.size())
+                        + " is unavailable, trying the next one", e);
+            }
+        }
+
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    private int selectReplica() {
+        if (selection == ReplicaSelection.ROUND_ROBIN)
+            return Math.floorMod(next.getAndIncrement(), replicas.size());
+
+        int selected = 0;
+        int lowest = Integer.MAX_VALUE;
+        int offset = Math.floorMod(next.getAndIncrement(), replicas.size());
+
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (offset + i) % replicas.size();
+            int load = replicas.get(index).getLoad();
+
+            if (load < lowest) {
+                lowest = load;
+                selected = index;
+            }
+        }
+
+        return selected;
+    }
+
+    public Runnable propagate(Runnable task) {
+        if (replicas.isEmpty() || readYourWritesNanos == 0)
+            return task;
+
+        AtomicLong caller = lastPrimaryUse.get();
+
+        return () -> {
+            AtomicLong previous = lastPrimaryUse.get();
+            lastPrimaryUse.set(caller);
+
+            try {
+                task.run();
+            } finally {
+                lastPrimaryUse.set(previous);
+            }
+        };
+    }
+
+    private boolean isSticky() {
+        long lastUse = lastPrimaryUse.get().get();
+
+        return lastUse != 0 && System.nanoTime() - lastUse < readYourWritesNanos;
+    }
+
+    private void markPrimaryUse() {
+        lastPrimaryUse.get().set(System.nanoTime());
+    }
+
+    private Connection trackPrimaryUse(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            markPrimaryUse();
+                            break;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    public PooledDataSource getPrimary() {
+        return primary;
+    }
+
+    public List<PooledDataSource> getReplicas() {
+        return replicas;
+    }
+
+    public ReplicaSelection getSelection() {
+        return selection;
+    }
+
+    public PoolMetrics getMetrics() {
+        PoolMetrics metrics = primary.getMetrics();
+
+        for (PooledDataSource replica : replicas) {
+            metrics = metrics.plus(replica.getMetrics());
+        }
+
+        return metrics;
+    }
+
+    public long getPrimaryReads() {
+        return primaryReads.sum();
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    public long getReplicaFailures() {
+        return replicaFailures.sum();
+    }
+
+    @Override
+    public void close() {
+        primary.close();
+        replicas.forEach(PooledDataSource::close);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+}
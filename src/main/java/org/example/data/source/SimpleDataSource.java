@@ -1,68 +1,127 @@
 package org.example.data.source;
 
 import lombok.Getter;
-import lombok.Setter;
-import org.example.Main;
 import org.example.config.Configurer;
+import org.example.data.migration.MigrationResult;
+import org.example.data.migration.MigrationRunner;
 import org.postgresql.ds.PGSimpleDataSource;
 
+import javax.sql.DataSource;
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.io.PrintWriter;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
 
 @Getter
-@Setter
-public class SimpleDataSource {
-    private Connection connection;
-    private Configurer configurer;
+public class SimpleDataSource implements DataSource {
+    private final PooledDataSource pool;
+    private final RoutingDataSource routing;
+    private final Configurer configurer;
+    private final MigrationRunner migrationRunner;
 
     private static SimpleDataSource instance;
 
     private SimpleDataSource(Configurer configurer) throws SQLException {
+        PoolConfig poolConfig = PoolConfig.builder()
+                .minSize(configurer.getPoolMinSize())
+                .maxSize(configurer.getPoolMaxSize())
+                .acquireTimeoutMillis(configurer.getPoolAcquireTimeoutMillis())
+                .idleTimeoutMillis(configurer.getPoolIdleTimeoutMillis())
+                .leakDetectionThresholdMillis(configurer.getPoolLeakDetectionThresholdMillis())
+                .statementCacheSize(configurer.getStatementCacheSize())
+                .build();
+
+        List<PooledDataSource> replicas = new ArrayList<>();
+
+        for (String replica : configurer.getReplicas()) {
+            int separator = replica.lastIndexOf(':');
+            String host = separator < 0 ? replica : replica.substring(0, separator);
+            int port = separator < 0 ? configurer.getPort() : Integer.parseInt(replica.substring(separator + 1));
+
+            replicas.add(new PooledDataSource(target(configurer, host, port), poolConfig));
+        }
+
+        this.configurer = configurer;
+        this.pool = new PooledDataSource(target(configurer, configurer.getHost(), configurer.getPort()), poolConfig);
+        this.routing = new RoutingDataSource(pool, replicas,
+                ReplicaSelection.parse(configurer.getReplicaSelection()), configurer.getReadYourWritesMillis());
+        this.migrationRunner = new MigrationRunner(this);
+    }
+
+    private static DataSource target(Configurer configurer, String host, int port) {
         PGSimpleDataSource ds = new PGSimpleDataSource();
 
         ds.setDatabaseName(configurer.getDatabaseName());
         ds.setUser(configurer.getUser());
         ds.setPassword(configurer.getPassword());
-        ds.setServerNames(new String[]{configurer.getHost()});
-        ds.setPortNumbers(new int[]{configurer.getPort()});
+        ds.setServerNames(new String[]{host});
+        ds.setPortNumbers(new int[]{port});
         ds.setCurrentSchema(configurer.getSchema());
+        ds.setReWriteBatchedInserts(true);
+        ds.setPrepareThreshold(configurer.getPrepareThreshold());
+        ds.setBinaryTransfer(configurer.isBinaryTransfer());
 
-        connection = ds.getConnection();
+        return ds;
     }
 
-    public void initSchema() throws URISyntaxException, IOException {
-        String sql = Files.readString(Paths
-                .get(Objects
-                        .requireNonNull(Main.class
-                                .getResource("../../db/migration/schema_init.sql")).toURI()));
-
-        try {
-            Statement stmt = connection.createStatement();
-            stmt.execute(sql);
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+    public MigrationResult migrate() throws SQLException, IOException {
+        return migrationRunner.migrate();
     }
 
-    public void dropSchema() throws URISyntaxException, IOException {
-        String sql = Files.readString(Paths
-                .get(Objects
-                        .requireNonNull(Main.class
-                                .getResource("../../db/migration/schema_drop.sql")).toURI()));
-
-        try {
-            Statement stmt = connection.createStatement();
-            stmt.execute(sql);
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+    public PoolMetrics getMetrics() {
+        return routing.getMetrics();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return routing.getConnection();
+    }
+
+    public Connection getReadOnlyConnection() throws SQLException {
+        return routing.getReadOnlyConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return pool.getConnection(username, password);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return pool.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        pool.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        pool.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return pool.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() {
+        return pool.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : routing.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || routing.isWrapperFor(iface);
     }
 
     public static SimpleDataSource getInstance(Configurer configurer) throws SQLException {
@@ -0,0 +1,125 @@
+package org.example.data.source;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+public class StatementCache {
+    private final Connection physical;
+    private final Map<Object, Entry> statements;
+    private final Stats stats;
+
+    StatementCache(Connection physical, int maxSize, Stats stats) {
+        this.physical = physical;
+        this.stats = stats;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() <= maxSize)
+                    return false;
+
+                stats.evictions.increment();
+
+                if (!eldest.getValue().inUse)
+                    closeQuietly(eldest.getValue().statement);
+
+                return true;
+            }
+        };
+    }
+
+    public PreparedStatement acquire(Object key, String sql) throws SQLException {
+        return acquire(key, sql, null);
+    }
+
+    public PreparedStatement acquire(Object key, String sql, String[] returning) throws SQLException {
+        Entry entry = statements.get(key);
+
+        if (entry != null && entry.sql.equals(sql) && !entry.statement.isClosed()) {
+            if (entry.inUse) {
+                stats.misses.increment();
+                return prepare(sql, returning);
+            }
+
+            stats.hits.increment();
+            entry.inUse = true;
+            return entry.statement;
+        }
+
+        stats.misses.increment();
+
+        if (entry != null && !entry.inUse)
+            closeQuietly(entry.statement);
+
+        entry = new Entry(sql, prepare(sql, returning));
+        entry.inUse = true;
+        statements.put(key, entry);
+
+        return entry.statement;
+    }
+
+    private PreparedStatement prepare(String sql, String[] returning) throws SQLException {
+        return returning != null ? physical.prepareStatement(sql, returning) : physical.prepareStatement(sql);
+    }
+
+    public void release(Object key, PreparedStatement statement) {
+        Entry entry = statements.get(key);
+
+        if (entry == null || entry.statement != statement) {
+            closeQuietly(statement);
+            return;
+        }
+
+        try {
+            statement.clearBatch();
+            statement.clearParameters();
+            entry.inUse = false;
+        } catch (SQLException e) {
+            statements.remove(key);
+            closeQuietly(statement);
+        }
+    }
+
+    public int size() {
+        return statements.size();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private static final class Entry {
+        private final String sql;
+        private final PreparedStatement statement;
+        private boolean inUse;
+
+        private Entry(String sql, PreparedStatement statement) {
+            this.sql = sql;
+            this.statement = statement;
+        }
+    }
+
+    static final class Stats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        long hits() {
+            return hits.sum();
+        }
+
+        long misses() {
+            return misses.sum();
+        }
+
+        long evictions() {
+            return evictions.sum();
+        }
+    }
+}
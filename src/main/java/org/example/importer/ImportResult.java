@@ -0,0 +1,4 @@
+package org.example.importer;
+
+public record ImportResult(long visitors, long books, long duplicateBooks, long batches, long elapsedMillis) {
+}
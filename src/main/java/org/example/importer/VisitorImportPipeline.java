@@ -0,0 +1,247 @@
+package org.example.importer;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import org.example.data.core.tx.TransactionTemplate;
+import org.example.data.repo.BookRepository;
+import org.example.data.repo.VisitorRepository;
+import org.example.model.Book;
+import org.example.model.Visitor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class VisitorImportPipeline {
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+    private static final int QUEUED_BATCHES = 2;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final Visitor END_OF_VISITORS = new Visitor();
+
+    private final Gson gson = new Gson();
+    private final BookRepository bookRepository;
+    private final VisitorRepository visitorRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    public VisitorImportPipeline(BookRepository bookRepository, VisitorRepository visitorRepository,
+                                 TransactionTemplate transactionTemplate) {
+        this.bookRepository = bookRepository;
+        this.visitorRepository = visitorRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public ImportResult run(InputStream json) throws IOException, SQLException {
+        long started = System.currentTimeMillis();
+
+        Run run = new Run();
+        Thread parser = run.start("import-parser", () -> parse(json, run));
+        Thread deduplicator = run.start("import-dedup", () -> deduplicate(run));
+
+        long visitors = 0;
+        long books = 0;
+        long batches = 0;
+
+        try {
+            Batch batch;
+
+            while ((batch = run.take(run.batches)) != Batch.END) {
+                Batch current = batch;
+
+                transactionTemplate.inTransaction(status -> {
+                    bookRepository.upsertAll(current.books());
+                    visitorRepository.upsertAll(current.visitors());
+                    return null;
+                });
+
+                visitors += current.visitors().size();
+                books += current.books().size();
+                batches++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while importing", e);
+        } catch (SQLException | RuntimeException e) {
+            run.fail(e);
+            throw e;
+        } finally {
+            run.cancel(parser, deduplicator);
+        }
+
+        run.rethrow();
+        return new ImportResult(visitors, books, run.duplicateBooks, batches, System.currentTimeMillis() - started);
+    }
+
+    private void parse(InputStream json, Run run) throws IOException, InterruptedException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(json, StandardCharsets.UTF_8))) {
+            reader.beginArray();
+
+            while (reader.hasNext()) {
+                run.visitors.put(gson.fromJson(reader, Visitor.class));
+            }
+
+            reader.endArray();
+        }
+
+        run.visitors.put(END_OF_VISITORS);
+    }
+
+    private void deduplicate(Run run) throws Exception {
+        Map<String, UUID> bookIds = new HashMap<>();
+        List<Book> books = new ArrayList<>();
+        List<Visitor> visitors = new ArrayList<>(batchSize);
+
+        Visitor visitor;
+
+        while ((visitor = run.take(run.visitors)) != END_OF_VISITORS) {
+            Map<UUID, Book> favorites = new LinkedHashMap<>();
+
+            for (Book book : visitor.getFavoriteBooks() != null ? visitor.getFavoriteBooks() : List.<Book>of()) {
+                UUID id = book.getIsbn() != null ? bookIds.get(book.getIsbn()) : null;
+
+                if (id == null) {
+                    id = UUID.randomUUID();
+                    books.add(book);
+
+                    if (book.getIsbn() != null)
+                        bookIds.put(book.getIsbn(), id);
+                } else {
+                    run.duplicateBooks++;
+                }
+
+                book.setId(id);
+                favorites.putIfAbsent(id, book);
+            }
+
+            visitor.setId(UUID.randomUUID());
+            visitor.setFavoriteBooks(new ArrayList<>(favorites.values()));
+            visitors.add(visitor);
+
+            if (visitors.size() == batchSize) {
+                run.batches.put(new Batch(books, visitors));
+                books = new ArrayList<>();
+                visitors = new ArrayList<>(batchSize);
+            }
+        }
+
+        if (!visitors.isEmpty() || !books.isEmpty())
+            run.batches.put(new Batch(books, visitors));
+
+        run.batches.put(Batch.END);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be positive");
+
+        this.batchSize = batchSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 1)
+            throw new IllegalArgumentException("Queue capacity must be positive");
+
+        this.queueCapacity = queueCapacity;
+    }
+
+    private record Batch(List<Book> books, List<Visitor> visitors) {
+        private static final Batch END = new Batch(List.of(), List.of());
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    private final class Run {
+        private final BlockingQueue<Visitor> visitors = new ArrayBlockingQueue<>(queueCapacity);
+        private final BlockingQueue<Batch> batches = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+
+        private volatile Throwable failure;
+        private long duplicateBooks;
+
+        private Thread start(String name, Stage stage) {
+            Thread thread = new Thread(() -> {
+                try {
+                    stage.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Throwable e) {
+                    fail(e);
+                }
+            }, name);
+
+            thread.setDaemon(true);
+            thread.start();
+            return thread;
+        }
+
+        private <E> E take(BlockingQueue<E> queue) throws IOException, SQLException, InterruptedException {
+            E next;
+
+            while ((next = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                rethrow();
+            }
+
+            return next;
+        }
+
+        private void fail(Throwable e) {
+            if (failure == null)
+                failure = e;
+        }
+
+        private void rethrow() throws IOException, SQLException {
+            Throwable e = failure;
+
+            if (e instanceof IOException ioException)
+                throw ioException;
+            if (e instanceof SQLException sqlException)
+                throw sqlException;
+            if (e instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if (e instanceof Error error)
+                throw error;
+            if (e != null)
+                throw new IOException("Import failed", e);
+        }
+
+        private void cancel(Thread... stages) {
+            for (Thread stage : stages) {
+                stage.interrupt();
+            }
+
+            for (Thread stage : stages) {
+                try {
+                    stage.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
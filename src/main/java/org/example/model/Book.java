@@ -13,7 +13,7 @@ import org.example.data.core.annotation.Model;
 import java.util.UUID;
 
 @Data
-@Model("books")
+@Model(value = "books", cacheable = true)
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
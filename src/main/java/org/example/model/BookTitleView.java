@@ -0,0 +1,4 @@
+package org.example.model;
+
+public record BookTitleView(String title, String author) {
+}
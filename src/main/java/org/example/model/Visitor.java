@@ -7,15 +7,17 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.example.data.core.annotation.Column;
+import org.example.data.core.annotation.FetchType;
 import org.example.data.core.annotation.Id;
-import org.example.data.core.annotation.IgnoreColumn;
+import org.example.data.core.annotation.ManyToMany;
 import org.example.data.core.annotation.Model;
+import org.example.data.core.annotation.Version;
 
 import java.util.List;
 import java.util.UUID;
 
 @Data
-@Model("visitors")
+@Model(value = "visitors", cacheable = true)
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -32,6 +34,14 @@ public class Visitor {
     @SerializedName("subscribed")
     private boolean isSubscribed;
 
-    @IgnoreColumn
+    @Version
+    @Expose(deserialize = false)
+    private long version;
+
+    @ManyToMany(
+            joinTable = "visitors_books",
+            joinColumn = "visitor_id",
+            inverseJoinColumn = "book_id",
+            fetch = FetchType.EAGER)
     private List<Book> favoriteBooks;
 }
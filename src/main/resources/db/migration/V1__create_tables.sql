@@ -19,4 +19,4 @@ create table if not exists visitors_books (
     book_id uuid,
 
     constraint pk_visitor_book primary key (visitor_id, book_id)
-);
\ No newline at end of file
+);
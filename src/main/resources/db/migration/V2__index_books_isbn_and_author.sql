@@ -0,0 +1,3 @@
+create index concurrently if not exists idx_books_isbn on books (isbn);
+
+create index concurrently if not exists idx_books_author on books (author);
@@ -1,3 +0,0 @@
-drop table if exists visitors_books;
-drop table if exists books;
-drop table if exists visitors;
\ No newline at end of file
@@ -0,0 +1,75 @@
+package org.example.data.migration;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlScriptTest {
+    @Test
+    void splitsOnSemicolonsAndSkipsBlankStatements() {
+        assertEquals(List.of("CREATE TABLE a (id int)", "CREATE TABLE b (id int)"),
+                SqlScript.split("CREATE TABLE a (id int);\n\n;CREATE TABLE b (id int);\n"));
+    }
+
+    @Test
+    void removesLineAndBlockComments() {
+        List<String> statements = SqlScript.split("""
+                -- leading comment; not a statement
+                CREATE TABLE a (id int); -- trailing comment
+                /* block; comment */ DROP TABLE b;
+                """);
+
+        assertEquals(List.of("CREATE TABLE a (id int)", "DROP TABLE b"), statements);
+    }
+
+    @Test
+    void keepsSemicolonsInsideQuotes() {
+        List<String> statements = SqlScript.split(
+                "INSERT INTO a VALUES ('it''s; fine', '-- no comment');"
+                        + "CREATE TABLE \"odd;\"\"name\" (id int)");
+
+        assertEquals(List.of("INSERT INTO a VALUES ('it''s; fine', '-- no comment')",
+                "CREATE TABLE \"odd;\"\"name\" (id int)"), statements);
+    }
+
+    @Test
+    void keepsDollarQuotedBodiesIntact() {
+        String function = """
+                CREATE FUNCTION touch() RETURNS trigger AS $body$
+                BEGIN
+                    NEW.updated_at = now(); -- keep
+                    RETURN NEW;
+                END;
+                $body$ LANGUAGE plpgsql""";
+
+        assertEquals(List.of(function, "SELECT $$a;b$$"), SqlScript.split(function + ";\nSELECT $$a;b$$;"));
+    }
+
+    @Test
+    void keepsPositionalParametersOutsideDollarQuotes() {
+        assertEquals(List.of("PREPARE p AS SELECT $1", "SELECT 1"),
+                SqlScript.split("PREPARE p AS SELECT $1; SELECT 1;"));
+    }
+
+    @Test
+    void concurrentIndexMakesMigrationNonTransactional() {
+        List<String> statements = SqlScript.split("CREATE INDEX CONCURRENTLY idx_a ON a (id);");
+
+        assertFalse(MigrationRunner.transactional(statements));
+    }
+
+    @Test
+    void commentMentioningConcurrentlyKeepsMigrationTransactional() {
+        List<String> statements = SqlScript.split("""
+                -- concurrently building this index would need its own migration
+                /* see CREATE INDEX CONCURRENTLY */
+                CREATE INDEX idx_a ON a (id);
+                """);
+
+        assertTrue(MigrationRunner.transactional(statements));
+    }
+}
@@ -0,0 +1,242 @@
+package org.example.data.source;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class RoutingDataSourceTest {
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    @AfterEach
+    void closeResources() throws Exception {
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+
+    @Test
+    void roundRobinAlternatesBetweenReplicas() throws SQLException {
+        RoutingDataSource routing = routing(ReplicaSelection.ROUND_ROBIN, 0, new Stub("primary"),
+                new Stub("replica-1"), new Stub("replica-2"));
+
+        assertEquals("replica-1", read(routing));
+        assertEquals("replica-2", read(routing));
+        assertEquals("replica-1", read(routing));
+        assertEquals(3, routing.getReplicaReads());
+        assertEquals(0, routing.getPrimaryReads());
+    }
+
+    @Test
+    void leastLoadedAvoidsBusyReplica() throws SQLException {
+        RoutingDataSource routing = routing(ReplicaSelection.LEAST_LOADED, 0, new Stub("primary"),
+                new Stub("replica-1"), new Stub("replica-2"));
+
+        try (Connection busy = routing.getReadOnlyConnection()) {
+            String busyReplica = name(busy);
+
+            for (int i = 0; i < 4; i++) {
+                assertNotEquals(busyReplica, read(routing));
+            }
+        }
+    }
+
+    @Test
+    void fallsBackToNextReplicaWhenOneIsDown() throws SQLException {
+        Stub down = new Stub("replica-1");
+        RoutingDataSource routing = routing(ReplicaSelection.ROUND_ROBIN, 0, new Stub("primary"), down,
+                new Stub("replica-2"));
+
+        down.available = false;
+
+        assertEquals("replica-2", read(routing));
+        assertEquals("replica-2", read(routing));
+        assertEquals(1, routing.getReplicaFailures());
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenAllReplicasAreDown() throws SQLException {
+        Stub first = new Stub("replica-1");
+        Stub second = new Stub("replica-2");
+        RoutingDataSource routing = routing(ReplicaSelection.ROUND_ROBIN, 0, new Stub("primary"), first, second);
+
+        first.available = false;
+        second.available = false;
+
+        assertEquals("primary", read(routing));
+        assertEquals(1, routing.getPrimaryReads());
+        assertEquals(2, routing.getReplicaFailures());
+    }
+
+    @Test
+    void readsStickToPrimaryAfterWrite() throws Exception {
+        RoutingDataSource routing = routing(ReplicaSelection.ROUND_ROBIN, 200, new Stub("primary"),
+                new Stub("replica-1"));
+
+        assertEquals("replica-1", read(routing));
+
+        routing.getConnection().close();
+
+        assertEquals("primary", read(routing));
+        assertEquals("replica-1", CompletableFuture.supplyAsync(() -> read(routing)).get());
+
+        Thread.sleep(300);
+
+        assertEquals("replica-1", read(routing));
+    }
+
+    @Test
+    void propagatesStickinessToWorkerThreads() throws Exception {
+        RoutingDataSource routing = routing(ReplicaSelection.ROUND_ROBIN, 60_000, new Stub("primary"),
+                new Stub("replica-1"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        resources.add(executor::shutdown);
+
+        routing.getConnection().close();
+
+        String[] routed = new String[2];
+        executor.submit(routing.propagate(() -> routed[0] = read(routing))).get();
+        executor.submit(() -> routed[1] = read(routing)).get();
+
+        assertEquals("primary", routed[0]);
+        assertEquals("replica-1", routed[1]);
+    }
+
+    @Test
+    void propagatesWorkerWritesBackToCaller() throws Exception {
+        RoutingDataSource routing = routing(ReplicaSelection.ROUND_ROBIN, 60_000, new Stub("primary"),
+                new Stub("replica-1"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        resources.add(executor::shutdown);
+
+        executor.submit(routing.propagate(() -> {
+            try {
+                routing.getConnection().close();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        })).get();
+
+        assertEquals("primary", read(routing));
+    }
+
+    @Test
+    void metricsIncludeReplicaPools() throws SQLException {
+        RoutingDataSource routing = routing(ReplicaSelection.ROUND_ROBIN, 0, new Stub("primary"),
+                new Stub("replica-1"), new Stub("replica-2"));
+
+        routing.getConnection().close();
+        read(routing);
+
+        try (Connection ignored = routing.getReadOnlyConnection()) {
+            PoolMetrics metrics = routing.getMetrics();
+
+            assertEquals(3, metrics.acquired());
+            assertEquals(3, metrics.total());
+            assertEquals(1, metrics.active());
+            assertEquals(2, metrics.idle());
+        }
+    }
+
+    private RoutingDataSource routing(ReplicaSelection selection, long readYourWritesMillis, Stub primary,
+                                      Stub... replicas) throws SQLException {
+        List<PooledDataSource> replicaPools = new ArrayList<>();
+
+        for (Stub replica : replicas) {
+            replicaPools.add(pool(replica));
+        }
+
+        RoutingDataSource routing = new RoutingDataSource(pool(primary), replicaPools, selection,
+                readYourWritesMillis);
+        resources.add(routing);
+
+        return routing;
+    }
+
+    private static PooledDataSource pool(Stub stub) throws SQLException {
+        PoolConfig config = PoolConfig.builder()
+                .minSize(0)
+                .maxSize(4)
+                .acquireTimeoutMillis(1_000)
+                .statementCacheSize(0)
+                .build();
+
+        return new PooledDataSource(stub.dataSource(), config);
+    }
+
+    private static String read(RoutingDataSource routing) {
+        try (Connection connection = routing.getReadOnlyConnection()) {
+            return name(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String name(Connection connection) {
+        String description = connection.toString();
+
+        return description.substring(description.indexOf('[') + 1, description.indexOf(']'));
+    }
+
+    private static final class Stub {
+        private final String name;
+
+        private volatile boolean available = true;
+
+        private Stub(String name) {
+            this.name = name;
+        }
+
+        private DataSource dataSource() {
+            return (DataSource) Proxy.newProxyInstance(
+                    DataSource.class.getClassLoader(),
+                    new Class<?>[]{DataSource.class},
+                    (proxy, method, args) -> {
+                        if (!method.getName().equals("getConnection"))
+                            return defaultValue(method.getReturnType());
+                        if (!available)
+                            throw new SQLException(name + " is down");
+
+                        return connection();
+                    });
+        }
+
+        private Connection connection() {
+            boolean[] closed = new boolean[1];
+
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "toString" -> name;
+                        case "close" -> closed[0] = true;
+                        case "isClosed" -> closed[0];
+                        case "isValid", "getAutoCommit" -> true;
+                        case "getTransactionIsolation" -> Connection.TRANSACTION_READ_COMMITTED;
+                        default -> defaultValue(method.getReturnType());
+                    });
+        }
+
+        private static Object defaultValue(Class<?> type) {
+            if (type == boolean.class)
+                return false;
+            if (type == int.class)
+                return 0;
+            if (type == long.class)
+                return 0L;
+
+            return null;
+        }
+    }
+}